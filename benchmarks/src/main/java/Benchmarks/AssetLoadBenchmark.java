@@ -0,0 +1,39 @@
+package Benchmarks;
+
+import Clases.GameAssets;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga completa de GameAssets, tal como ocurre al abrir el juego.
+ * Cada medición es un arranque en frío de la carga (decodificación de todos los PNG),
+ * hasta que terminan todos los hilos de carga.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class AssetLoadBenchmark {
+
+    // Una carga previa para no medir búsquedas fallidas si el classpath está mal armado
+    @Setup
+    public void setup() {
+        requireAllLoaded(new GameAssets().awaitLoaded());
+    }
+
+    @Benchmark
+    public GameAssets load() {
+        return new GameAssets().awaitLoaded();
+    }
+
+    // Sin todas las imágenes se dibujan reemplazos y los números no valen
+    static void requireAllLoaded(GameAssets assets) {
+        if (assets.getLoadedCount() != assets.getTotalCount() || assets.getMissingCount() > 0) {
+            throw new IllegalStateException("Faltan imágenes (" + assets.getMissingCount() + " de "
+                    + assets.getTotalCount() + " comunes más personajes); correr desde benchmarks/ con mvn");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package Benchmarks;
+
+import Clases.Environment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción del escenario (árboles, montañas, castillos, nubes y plataformas).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EnvironmentBenchmark {
+    private static final int GROUND_Y = 718;
+    private static final int WORLD_WIDTH = 5000;
+
+    private long seed;
+
+    @Benchmark
+    public Environment construct() {
+        return new Environment(GROUND_Y, WORLD_WIDTH, seed++);
+    }
+}
@@ -0,0 +1,94 @@
+package Benchmarks;
+
+import Clases.CharacterInfo;
+import Clases.CharacterRegistry;
+import Clases.GameAssets;
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dibujo de un frame completo de MarioGame en un BufferedImage, para cada GameState.
+ * MarioGame está en el paquete por defecto y su estado es privado,
+ * así que se accede por reflexión (solo en el setup, no en la medición).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class PaintBenchmark {
+    private static final int WIDTH = 1360;
+    private static final int HEIGHT = 768;
+
+    @Param({"TITLE_SCREEN", "CHARACTER_SELECTION", "PLAYING", "GAME_OVER", "PAUSE"})
+    public String state;
+
+    private JPanel game;
+    private BufferedImage frame;
+    private Graphics2D g2d;
+
+    @Setup
+    public void setup() throws Exception {
+        Class<?> gameClass = Class.forName("MarioGame");
+        game = (JPanel) gameClass.getConstructor().newInstance();
+        game.setSize(WIDTH, HEIGHT);
+
+        // Se mide con todas las imágenes cargadas (y sus avisos ya procesados en el EDT)
+        Field assets = gameClass.getDeclaredField("assets");
+        assets.setAccessible(true);
+        GameAssets gameAssets = ((GameAssets) assets.get(game)).awaitLoaded();
+        for (CharacterInfo type : CharacterRegistry.getDefault().getAll()) {
+            gameAssets.getCharacterAnimationsFuture(type).join();
+        }
+        SwingUtilities.invokeAndWait(() -> { });
+        AssetLoadBenchmark.requireAllLoaded(gameAssets);
+
+        // Las pantallas PLAYING, GAME_OVER y PAUSE necesitan una partida en curso
+        if (!state.equals("TITLE_SCREEN") && !state.equals("CHARACTER_SELECTION")) {
+            Method startNewGame = gameClass.getDeclaredMethod("startNewGame");
+            startNewGame.setAccessible(true);
+            startNewGame.invoke(game);
+        }
+
+        Field gameState = gameClass.getDeclaredField("gameState");
+        gameState.setAccessible(true);
+        for (Object value : gameState.getType().getEnumConstants()) {
+            if (value.toString().equals(state)) {
+                gameState.set(game, value);
+            }
+        }
+
+        // Sin timers: el estado no cambia mientras se mide
+        stopTimer(gameClass, "gameTimer");
+        stopTimer(gameClass, "titleTimer");
+
+        frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g2d = frame.createGraphics();
+    }
+
+    private void stopTimer(Class<?> gameClass, String name) throws Exception {
+        Field field = gameClass.getDeclaredField(name);
+        field.setAccessible(true);
+        ((Timer) field.get(game)).stop();
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2d.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paint() {
+        game.paint(g2d);
+        return frame;
+    }
+}
@@ -0,0 +1,73 @@
+package Benchmarks;
+
+import Clases.AnimationClock;
+import Clases.CharacterRegistry;
+import Clases.IntervalIndex;
+import Clases.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player.update contra N plataformas repartidas por el mundo: recorriéndolas
+ * todas (lista) o solo las del tramo del jugador (IntervalIndex, como en el juego).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerUpdateBenchmark {
+    private static final int GROUND_Y = 718;
+    private static final int WORLD_WIDTH = 5000;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int platformCount;
+
+    private List<Rectangle> platforms;
+    private IntervalIndex platformIndex;
+    private Player player;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(42);
+        platforms = new ArrayList<>(platformCount);
+        for (int i = 0; i < platformCount; i++) {
+            platforms.add(new Rectangle(rand.nextInt(WORLD_WIDTH), 200 + rand.nextInt(GROUND_Y - 250), 280, 20));
+        }
+        platformIndex = new IntervalIndex();
+        for (Rectangle platform : platforms) {
+            platformIndex.add(platform);
+        }
+        player = new Player(60, GROUND_Y, WORLD_WIDTH, CharacterRegistry.getDefault().getDefaultCharacter(), new AnimationClock());
+    }
+
+    @Benchmark
+    public Rectangle update() {
+        Rectangle rect = keepInAir();
+        player.update(platforms);
+        return rect;
+    }
+
+    @Benchmark
+    public Rectangle updateIndexed() {
+        Rectangle rect = keepInAir();
+        player.update(platformIndex);
+        return rect;
+    }
+
+    // Siempre en el aire y moviéndose, para que haya colisiones que revisar
+    private Rectangle keepInAir() {
+        Rectangle rect = player.getRect();
+        if (rect.y > GROUND_Y - 400 || rect.x > WORLD_WIDTH - 200) {
+            rect.setLocation(60, 50);
+        }
+        player.moveRight();
+        return rect;
+    }
+}
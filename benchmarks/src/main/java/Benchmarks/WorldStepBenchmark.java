@@ -0,0 +1,82 @@
+package Benchmarks;
+
+import Clases.CharacterRegistry;
+import Clases.GameWorld;
+import Clases.InputFrame;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un tick de GameWorld.step con N enemigos (y N balas) vivos.
+ * Es el camino de updateEnemies / updateBullets que antes estaba en MarioGame.
+ * Después de cada tick se reponen las entidades eliminadas para mantener N.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WorldStepBenchmark {
+    private static final int HEIGHT = 768;
+    private static final int GROUND_Y = HEIGHT - 50;
+    private static final int WORLD_WIDTH = 5000;
+    private static final long TICK_NANOS = 16_000_000L;
+    // Mismo alcance que la zona activa de GameWorld: fuera de ella las entidades se eliminan
+    private static final int ACTIVE_RANGE = 2600;
+
+    @Param({"10", "100", "1000", "5000"})
+    public int entities;
+
+    private GameWorld world;
+    private final InputFrame input = new InputFrame();
+    private Random rand;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        rand = new Random(42);
+        world = new GameWorld(GROUND_Y, HEIGHT, WORLD_WIDTH, TICK_NANOS, 42);
+        world.startNewGame(CharacterRegistry.getDefault().getDefaultCharacter());
+    }
+
+    @Benchmark
+    public int enemies() {
+        step(false);
+        return world.getScore();
+    }
+
+    @Benchmark
+    public int enemiesAndBullets() {
+        step(true);
+        return world.getScore();
+    }
+
+    private void step(boolean withBullets) {
+        if (world.isGameOver()) {
+            world.startNewGame(CharacterRegistry.getDefault().getDefaultCharacter());
+        }
+
+        // Enemigos por encima del jugador, para que no termine la partida
+        while (world.getEnemyCount() < entities) {
+            boolean fromRight = rand.nextBoolean();
+            world.addEnemy(randomActiveX(), 60 + rand.nextInt(250), fromRight ? -3 : 3, 0);
+        }
+        if (withBullets) {
+            while (world.getBulletCount() < entities) {
+                world.addBullet(randomActiveX(), 60 + rand.nextInt(320), rand.nextBoolean() ? 1 : -1);
+            }
+        }
+
+        world.step(input);
+    }
+
+    // x al azar dentro de la zona activa (jugador ± ACTIVE_RANGE, sin salir del mundo)
+    private int randomActiveX() {
+        int playerX = world.getPlayer().getRect().x;
+        int minX = Math.max(0, playerX - ACTIVE_RANGE);
+        int maxX = Math.min(WORLD_WIDTH, playerX + ACTIVE_RANGE);
+        return minX + rand.nextInt(maxX - minX);
+    }
+}
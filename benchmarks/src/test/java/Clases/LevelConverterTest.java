@@ -0,0 +1,89 @@
+package Clases;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Rectangle;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * El formato de texto de LevelConverter, incluido el ejemplo del README
+ * (con comentarios al final de las líneas) y el nivel de niveles/.
+ */
+class LevelConverterTest {
+    private static final int GROUND_Y = 718;
+    // Las pruebas corren desde benchmarks/
+    private static final Path ROOT = Paths.get("..");
+
+    @Test
+    void convertsReadmeExample() throws IOException {
+        LevelConverter.Level level = parse(readmeExample());
+        assertEquals(7200, level.worldWidth);
+        assertEquals(3, level.objects.size());
+
+        List<List<Rectangle>> chunk = readFirstChunk(level);
+        Rectangle tree = chunk.get(LevelFile.TREE).get(0);
+        assertEquals(new Rectangle(500, GROUND_Y - 290, 280, 290), tree);
+        Rectangle platform = chunk.get(LevelFile.PLATFORM).get(0);
+        assertEquals(new Rectangle(500, GROUND_Y - 290, 280, 20), platform);
+    }
+
+    @Test
+    void convertsBundledLevel() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(ROOT.resolve("niveles/nivel1.txt"), StandardCharsets.UTF_8)) {
+            LevelConverter.Level level = LevelConverter.parse(reader, "nivel1.txt");
+            assertTrue(level.objects.size() > 0);
+        }
+    }
+
+    @Test
+    void reportsLineOfBadInstruction() {
+        IOException e = assertThrows(IOException.class,
+                () -> parse("width 1000\n\ntree 100 290   # falta ancho y alto\n"));
+        assertTrue(e.getMessage().startsWith("prueba:3:"), e.getMessage());
+    }
+
+    private static LevelConverter.Level parse(String text) throws IOException {
+        return LevelConverter.parse(new BufferedReader(new StringReader(text)), "prueba");
+    }
+
+    // El primer bloque de código de la sección de niveles del README
+    private static String readmeExample() throws IOException {
+        String readme = new String(Files.readAllBytes(ROOT.resolve("README.md")), StandardCharsets.UTF_8);
+        int section = readme.indexOf("Niveles:");
+        assertTrue(section >= 0, "el README no tiene la sección de niveles");
+        int start = readme.indexOf("```", section);
+        int end = readme.indexOf("```", start + 3);
+        return readme.substring(readme.indexOf('\n', start) + 1, end);
+    }
+
+    private static List<List<Rectangle>> readFirstChunk(LevelConverter.Level level) throws IOException {
+        Path file = Files.createTempFile("nivel", ".level");
+        try {
+            LevelFile.write(file, level.worldWidth, level.chunkWidth, level.objects);
+            LevelFile levelFile = LevelFile.open(file);
+            assertNotNull(levelFile);
+
+            List<List<Rectangle>> chunk = new ArrayList<>();
+            for (int kind = 0; kind < LevelFile.KINDS; kind++) {
+                chunk.add(new ArrayList<>());
+            }
+            levelFile.readChunk(0, GROUND_Y, chunk);
+            return chunk;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package Clases;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * LevelFile.open rechaza (devuelve null) los archivos cortados o con el índice
+ * dañado, en lugar de fallar después en readChunk a mitad de partida.
+ */
+class LevelFileTest {
+    private static final int GROUND_Y = 718;
+    private Path file;
+
+    @BeforeEach
+    void writeLevel() throws IOException {
+        List<LevelFile.LevelObject> objects = new ArrayList<>();
+        for (int x = 100; x < 9000; x += 700) {
+            objects.add(new LevelFile.LevelObject(LevelFile.TREE, x, 290, 280, 290));
+            objects.add(new LevelFile.LevelObject(LevelFile.PLATFORM, x, 290, 280, 20));
+        }
+        file = Files.createTempFile("nivel", ".level");
+        LevelFile.write(file, 9000, 1800, objects);
+    }
+
+    @AfterEach
+    void deleteLevel() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void opensValidLevel() {
+        LevelFile level = LevelFile.open(file);
+        assertNotNull(level);
+
+        int trees = 0;
+        for (int i = 0; i < level.getChunkCount(); i++) {
+            List<List<Rectangle>> chunk = emptyChunk();
+            level.readChunk(i, GROUND_Y, chunk);
+            trees += chunk.get(LevelFile.TREE).size();
+        }
+        assertEquals(13, trees);
+    }
+
+    @Test
+    void rejectsTruncatedFile() throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 7));
+        assertNull(LevelFile.open(file));
+    }
+
+    @Test
+    void rejectsBadChunkOffset() throws IOException {
+        // El offset del segundo chunk apunta más allá del final
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putLong(20 + 8, Integer.MAX_VALUE);
+        Files.write(file, bytes.array());
+        assertNull(LevelFile.open(file));
+    }
+
+    @Test
+    void rejectsBadObjectCount() throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        int firstChunk = (int) bytes.getLong(20);
+        bytes.putShort(firstChunk, (short) 5000);
+        Files.write(file, bytes.array());
+        assertNull(LevelFile.open(file));
+    }
+
+    private static List<List<Rectangle>> emptyChunk() {
+        List<List<Rectangle>> chunk = new ArrayList<>();
+        for (int kind = 0; kind < LevelFile.KINDS; kind++) {
+            chunk.add(new ArrayList<>());
+        }
+        return chunk;
+    }
+}
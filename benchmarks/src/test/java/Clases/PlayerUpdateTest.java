@@ -0,0 +1,129 @@
+package Clases;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Rectangle;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Player.update(IntervalIndex) tiene que dar exactamente lo mismo que
+ * Player.update(List) recorriendo todas las plataformas (en el mismo orden
+ * por x que usa el escenario).
+ */
+class PlayerUpdateTest {
+    private static final int GROUND_Y = 718;
+    private static final int WORLD_WIDTH = 5000;
+    // Acciones por tick (los valores del 0 al 9 salen del Random)
+    private static final int NONE = -1, LEFT = 0, RIGHT = 3;
+
+    @Test
+    void matchesFullScanInRandomWorlds() {
+        Random rand = new Random(42);
+        for (int world = 0; world < 200; world++) {
+            IntervalIndex index = new IntervalIndex();
+            int platformCount = rand.nextInt(400) + 1;
+            for (int i = 0; i < platformCount; i++) {
+                index.add(new Rectangle(rand.nextInt(WORLD_WIDTH), 150 + rand.nextInt(GROUND_Y - 150),
+                        20 + rand.nextInt(400), 10 + rand.nextInt(200)));
+            }
+
+            Player indexed = newPlayer(60);
+            Player scanned = newPlayer(60);
+            for (int step = 0; step < 2000; step++) {
+                // A veces se lo suelta en un lugar cualquiera, para caer sobre plataformas
+                if (rand.nextInt(200) == 0) {
+                    int x = rand.nextInt(WORLD_WIDTH - 100);
+                    int y = rand.nextInt(GROUND_Y - 120);
+                    indexed.getRect().setLocation(x, y);
+                    scanned.getRect().setLocation(x, y);
+                }
+                int action = rand.nextInt(10);
+                apply(indexed, action);
+                apply(scanned, action);
+
+                indexed.update(index);
+                scanned.update(index.getItems());
+                assertSameState(scanned, indexed, "mundo " + world + ", tick " + step);
+            }
+        }
+    }
+
+    @Test
+    void landsOnPlatformFromAbove() {
+        IntervalIndex index = indexOf(new Rectangle(80, 400, 280, 20));
+        Player indexed = newPlayer(100);
+        Player scanned = newPlayer(100);
+        indexed.getRect().setLocation(100, 200);
+        scanned.getRect().setLocation(100, 200);
+
+        runBoth(indexed, scanned, index, 40, NONE);
+        assertEquals(400 - indexed.getRect().height, indexed.getRect().y);
+        assertTrue(indexed.isOnGround());
+        assertEquals(0, indexed.getVy());
+    }
+
+    @Test
+    void pushedBackFromTheLeft() {
+        Rectangle wall = new Rectangle(300, GROUND_Y - 200, 100, 200);
+        IntervalIndex index = indexOf(wall);
+        Player indexed = newPlayer(wall.x - 100 - 4);
+        Player scanned = newPlayer(wall.x - 100 - 4);
+
+        runBoth(indexed, scanned, index, 10, RIGHT);
+        assertEquals(wall.x - 100 - 4, indexed.getRect().x);
+    }
+
+    @Test
+    void pushedBackFromTheRight() {
+        Rectangle wall = new Rectangle(300, GROUND_Y - 200, 100, 200);
+        IntervalIndex index = indexOf(wall);
+        Player indexed = newPlayer(wall.x + wall.width + 4);
+        Player scanned = newPlayer(wall.x + wall.width + 4);
+
+        runBoth(indexed, scanned, index, 10, LEFT);
+        assertEquals(wall.x + wall.width + 4, indexed.getRect().x);
+    }
+
+    // Avanza los dos jugadores con la misma acción y compara después de cada tick
+    private static void runBoth(Player indexed, Player scanned, IntervalIndex index, int ticks, int action) {
+        for (int step = 0; step < ticks; step++) {
+            apply(indexed, action);
+            apply(scanned, action);
+            indexed.update(index);
+            scanned.update(index.getItems());
+            assertSameState(scanned, indexed, "tick " + step);
+        }
+    }
+
+    private static void apply(Player player, int action) {
+        switch (action) {
+            case 0: case 1: case 2: player.moveLeft(); break;
+            case 3: case 4: case 5: player.moveRight(); break;
+            case 6: player.stop(); break;
+            case 7: player.jump(); break;
+            default: break;
+        }
+    }
+
+    private static void assertSameState(Player expected, Player actual, String where) {
+        assertEquals(expected.getRect(), actual.getRect(), where + ": rect");
+        assertEquals(expected.getVy(), actual.getVy(), where + ": vy");
+        assertEquals(expected.isOnGround(), actual.isOnGround(), where + ": onGround");
+    }
+
+    private static IntervalIndex indexOf(Rectangle... platforms) {
+        IntervalIndex index = new IntervalIndex();
+        for (Rectangle platform : platforms) {
+            index.add(platform);
+        }
+        return index;
+    }
+
+    private static Player newPlayer(int x) {
+        return new Player(x, GROUND_Y, WORLD_WIDTH, CharacterRegistry.getDefault().getDefaultCharacter(),
+                new AnimationClock());
+    }
+}
@@ -0,0 +1,99 @@
+import Clases.CharacterInfo;
+import Clases.CharacterRegistry;
+import Clases.GameAssets;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Límite de memoria que pide dibujar un frame de la partida (GameState.PLAYING)
+ * en un BufferedImage, con todas las imágenes cargadas. Los sprites salen ya
+ * escalados del SpriteCache y los colores, fuentes, trazos y textos del HUD de
+ * RenderResources y CachedText; lo que queda son los caminos internos de Java2D
+ * (texto y copias del Graphics). Si alguien vuelve a crear objetos por frame
+ * en paintComponent, esto lo detecta.
+ *
+ * Igual que PaintBenchmark, accede por reflexión al estado privado de MarioGame.
+ */
+class PaintAllocationTest {
+    private static final int WIDTH = 1360;
+    private static final int HEIGHT = 768;
+    private static final int WARMUP_FRAMES = 300;
+    private static final int FRAMES = 500;
+    // Con todas las imágenes cargadas hoy son unos 2,5 KB por frame
+    private static final long MAX_BYTES_PER_FRAME = 3 * 1024;
+
+    @Test
+    void playingFrameAllocatesLittle() throws Exception {
+        Class<?> gameClass = Class.forName("MarioGame");
+        JPanel game = (JPanel) gameClass.getConstructor().newInstance();
+        game.setSize(WIDTH, HEIGHT);
+
+        // Con todas las imágenes cargadas (y sus avisos ya procesados en el EDT)
+        Field assets = gameClass.getDeclaredField("assets");
+        assets.setAccessible(true);
+        GameAssets gameAssets = ((GameAssets) assets.get(game)).awaitLoaded();
+        for (CharacterInfo type : CharacterRegistry.getDefault().getAll()) {
+            gameAssets.getCharacterAnimationsFuture(type).join();
+        }
+        SwingUtilities.invokeAndWait(() -> { });
+        // Sin imágenes se dibujan rectángulos de reemplazo y la medición no vale
+        assertEquals(0, gameAssets.getMissingCount(), "faltan imágenes en el classpath");
+        assertEquals(gameAssets.getTotalCount(), gameAssets.getLoadedCount());
+
+        Method startNewGame = gameClass.getDeclaredMethod("startNewGame");
+        startNewGame.setAccessible(true);
+        startNewGame.invoke(game);
+        Field gameState = gameClass.getDeclaredField("gameState");
+        gameState.setAccessible(true);
+        for (Object value : gameState.getType().getEnumConstants()) {
+            if (value.toString().equals("PLAYING")) {
+                gameState.set(game, value);
+            }
+        }
+
+        // Sin timers: el estado no cambia mientras se mide
+        stopTimer(game, gameClass, "gameTimer");
+        stopTimer(game, gameClass, "titleTimer");
+
+        BufferedImage frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = frame.createGraphics();
+        try {
+            // Los primeros frames llenan los cachés (sprites escalados, textos, colores)
+            for (int i = 0; i < WARMUP_FRAMES; i++) {
+                game.paint(g2d);
+            }
+
+            com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long thread = Thread.currentThread().getId();
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < FRAMES; i++) {
+                game.paint(g2d);
+            }
+            long perFrame = (threads.getThreadAllocatedBytes(thread) - before) / FRAMES;
+
+            assertTrue(perFrame < MAX_BYTES_PER_FRAME,
+                    "paintComponent en PLAYING pide " + perFrame + " bytes por frame (límite "
+                            + MAX_BYTES_PER_FRAME + ")");
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    private static void stopTimer(JPanel game, Class<?> gameClass, String name) throws Exception {
+        Field field = gameClass.getDeclaredField(name);
+        field.setAccessible(true);
+        ((Timer) field.get(game)).stop();
+    }
+}
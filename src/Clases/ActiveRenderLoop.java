@@ -0,0 +1,106 @@
+package Clases;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.util.function.Consumer;
+
+/**
+ * Render activo: un hilo propio dibuja sobre un Canvas con BufferStrategy
+ * (page flipping si la plataforma lo permite) al ritmo que marca el FramePacer.
+ */
+public class ActiveRenderLoop implements Runnable {
+    private final Canvas canvas;
+    private final Runnable updater;
+    private final Consumer<Graphics2D> renderer;
+    private final FramePacer pacer;
+    // Se llama cada vez que un frame termina de mostrarse (después del flip)
+    private volatile Runnable onPresented;
+    private BufferStrategy strategy;
+    private volatile boolean running;
+    private Thread thread;
+
+    // 'updater' se llama antes de cada frame (simulación), 'renderer' dibuja el frame
+    public ActiveRenderLoop(Canvas canvas, int targetFps, Runnable updater, Consumer<Graphics2D> renderer) {
+        this.canvas = canvas;
+        this.updater = updater;
+        this.renderer = renderer;
+        this.pacer = new FramePacer(targetFps);
+    }
+
+    // El canvas tiene que estar visible antes de llamar a start()
+    public void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this, "render-loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        createStrategy();
+        pacer.reset();
+
+        while (running) {
+            if (!canvas.isDisplayable()) break;
+            updater.run();
+            renderFrame();
+            pacer.sync();
+        }
+    }
+
+    private void createStrategy() {
+        try {
+            // Intentar page flipping con buffers acelerados
+            BufferCapabilities flip = new BufferCapabilities(
+                    new ImageCapabilities(true), new ImageCapabilities(true),
+                    BufferCapabilities.FlipContents.UNDEFINED);
+            canvas.createBufferStrategy(2, flip);
+        } catch (AWTException e) {
+            // Sin page flipping: la plataforma elige (normalmente blit)
+            canvas.createBufferStrategy(2);
+        }
+        strategy = canvas.getBufferStrategy();
+    }
+
+    private void renderFrame() {
+        try {
+            do {
+                do {
+                    Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                    try {
+                        renderer.accept(g2d);
+                    } finally {
+                        g2d.dispose();
+                    }
+                    // Si el contenido se restauró durante el dibujo, repetir
+                } while (strategy.contentsRestored());
+
+                strategy.show();
+                // Si el buffer se perdió, volver a dibujar el frame entero
+            } while (strategy.contentsLost());
+
+            Toolkit.getDefaultToolkit().sync();
+            Runnable presented = onPresented;
+            if (presented != null) {
+                presented.run();
+            }
+        } catch (IllegalStateException e) {
+            // Los buffers se invalidaron (por ejemplo al cambiar de pantalla)
+            if (canvas.isDisplayable()) {
+                createStrategy();
+            }
+        }
+    }
+
+    public void setOnPresented(Runnable onPresented) { this.onPresented = onPresented; }
+    public FrameStats getFrameStats() { return pacer.getStats(); }
+    public boolean isRunning() { return running; }
+}
@@ -0,0 +1,38 @@
+package Clases;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Secuencia de frames que avanza cada 'ticksPerFrame' ticks.
+ * Si no es loop, se queda en el último frame.
+ */
+public class AnimationClip {
+    private final BufferedImage[] frames;
+    private final int ticksPerFrame;
+    private final boolean loop;
+
+    public AnimationClip(BufferedImage[] frames, int ticksPerFrame, boolean loop) {
+        if (frames.length == 0) {
+            throw new IllegalArgumentException("un clip necesita al menos un frame");
+        }
+        this.frames = frames;
+        this.ticksPerFrame = Math.max(1, ticksPerFrame);
+        this.loop = loop;
+    }
+
+    // Frame a mostrar cuando pasaron 'elapsedTicks' desde que empezó el clip
+    public BufferedImage getFrame(long elapsedTicks) {
+        if (frames.length == 1) {
+            return frames[0];
+        }
+        long index = Math.floorDiv(elapsedTicks, ticksPerFrame);
+        if (loop) {
+            return frames[(int) Math.floorMod(index, (long) frames.length)];
+        }
+        return frames[(int) Math.max(0, Math.min(index, frames.length - 1))];
+    }
+
+    public int getFrameCount() { return frames.length; }
+    public int getTicksPerFrame() { return ticksPerFrame; }
+    public boolean isLoop() { return loop; }
+}
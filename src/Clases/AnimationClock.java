@@ -0,0 +1,25 @@
+package Clases;
+
+/**
+ * Reloj compartido por todas las animaciones, en ticks de simulación.
+ * Las entidades no llevan contadores propios: guardan el tick en que empezó
+ * su animación y el frame sale de cuántos ticks pasaron desde entonces.
+ */
+public class AnimationClock {
+    private long ticks;
+
+    public void advance() {
+        ticks++;
+    }
+
+    // Para pantallas que se actualizan más despacio que la simulación (el título va cada 100 ms)
+    public void advance(int steps) {
+        ticks += steps;
+    }
+
+    public void reset() {
+        ticks = 0;
+    }
+
+    public long getTicks() { return ticks; }
+}
@@ -0,0 +1,168 @@
+package Clases;
+
+import java.util.Arrays;
+
+/**
+ * Tabla de entidades de un mismo tipo (enemigos, balas, jefes) guardada por
+ * columnas: un arreglo por campo en lugar de un objeto por entidad. Los sistemas
+ * recorren las columnas en orden, sin saltar de objeto en objeto.
+ *
+ * Las filas vivas están al principio (0..size-1); al quitar una, la última
+ * ocupa su lugar. Cada fila tiene además un id estable para las vistas
+ * (Enemy, Bullet, Boss), que siguen valiendo aunque la fila se mueva.
+ */
+public class Archetype {
+    // Bits de la columna flags
+    public static final int REMOVED = 1;
+
+    private final String name;
+    int size;
+
+    // Columnas
+    int[] x, y, width, height;
+    int[] vx, vy;
+    // Posición del tick anterior (para interpolar al dibujar)
+    int[] prevX, prevY;
+    int[] health;
+    int[] flags;
+    // Tick del reloj de animación en que apareció
+    long[] animationStart;
+
+    // id de cada fila y fila de cada id (-1 si ya no existe)
+    private int[] idOfRow;
+    private int[] rowOfId;
+    private int[] freeIds;
+    private int freeIdCount;
+    private int nextId;
+
+    public Archetype(String name, int initialCapacity) {
+        this.name = name;
+        int capacity = Math.max(16, initialCapacity);
+        x = new int[capacity];
+        y = new int[capacity];
+        width = new int[capacity];
+        height = new int[capacity];
+        vx = new int[capacity];
+        vy = new int[capacity];
+        prevX = new int[capacity];
+        prevY = new int[capacity];
+        health = new int[capacity];
+        flags = new int[capacity];
+        animationStart = new long[capacity];
+        idOfRow = new int[capacity];
+        rowOfId = new int[capacity];
+        freeIds = new int[capacity];
+    }
+
+    // Agrega una entidad y devuelve su fila
+    public int add(int x, int y, int width, int height, int vx, int vy) {
+        if (size == this.x.length) {
+            grow();
+        }
+        int row = size++;
+        this.x[row] = x;
+        this.y[row] = y;
+        this.width[row] = width;
+        this.height[row] = height;
+        this.vx[row] = vx;
+        this.vy[row] = vy;
+        prevX[row] = x;
+        prevY[row] = y;
+        health[row] = 1;
+        flags[row] = 0;
+        animationStart[row] = 0;
+
+        int id = freeIdCount > 0 ? freeIds[--freeIdCount] : nextId++;
+        if (id == rowOfId.length) {
+            rowOfId = Arrays.copyOf(rowOfId, id * 2);
+        }
+        idOfRow[row] = id;
+        rowOfId[id] = row;
+        return row;
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        health = Arrays.copyOf(health, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        animationStart = Arrays.copyOf(animationStart, capacity);
+        idOfRow = Arrays.copyOf(idOfRow, capacity);
+    }
+
+    // Quita la fila poniendo la última en su lugar (O(1), cambia el orden)
+    public void remove(int row) {
+        int id = idOfRow[row];
+        int last = --size;
+        if (row != last) {
+            x[row] = x[last];
+            y[row] = y[last];
+            width[row] = width[last];
+            height[row] = height[last];
+            vx[row] = vx[last];
+            vy[row] = vy[last];
+            prevX[row] = prevX[last];
+            prevY[row] = prevY[last];
+            health[row] = health[last];
+            flags[row] = flags[last];
+            animationStart[row] = animationStart[last];
+            idOfRow[row] = idOfRow[last];
+            rowOfId[idOfRow[row]] = row;
+        }
+        rowOfId[id] = -1;
+        if (freeIdCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIdCount * 2);
+        }
+        freeIds[freeIdCount++] = id;
+    }
+
+    // Quita todas las filas marcadas con REMOVED
+    public void compact() {
+        int row = 0;
+        while (row < size) {
+            if ((flags[row] & REMOVED) != 0) {
+                remove(row);
+            } else {
+                row++;
+            }
+        }
+    }
+
+    public void clear() {
+        while (size > 0) {
+            remove(size - 1);
+        }
+    }
+
+    // Mismo criterio que Rectangle.intersects (tamaños positivos)
+    public boolean intersects(int row, int rx, int ry, int rw, int rh) {
+        return x[row] < rx + rw && rx < x[row] + width[row]
+                && y[row] < ry + rh && ry < y[row] + height[row];
+    }
+
+    public int size() { return size; }
+    public String getName() { return name; }
+
+    public int getId(int row) { return idOfRow[row]; }
+    // Fila actual de un id, o -1 si la entidad ya no existe
+    public int rowOf(int id) { return id >= 0 && id < nextId ? rowOfId[id] : -1; }
+
+    public int getX(int row) { return x[row]; }
+    public int getY(int row) { return y[row]; }
+    public int getWidth(int row) { return width[row]; }
+    public int getHeight(int row) { return height[row]; }
+    public int getHealth(int row) { return health[row]; }
+    public long getAnimationStart(int row) { return animationStart[row]; }
+    public void setAnimationStart(int row, long tick) { animationStart[row] = tick; }
+    public boolean isRemoved(int row) { return (flags[row] & REMOVED) != 0; }
+    public void markRemoved(int row) { flags[row] |= REMOVED; }
+    public int getRenderX(int row, float alpha) { return FixedTimestep.lerp(prevX[row], x[row], alpha); }
+    public int getRenderY(int row, float alpha) { return FixedTimestep.lerp(prevY[row], y[row], alpha); }
+}
@@ -0,0 +1,158 @@
+package Clases;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Archivo de imágenes ya decodificadas (lo genera AssetPacker).
+ *
+ * Formato (little endian):
+ *   int   magia "MPAK", int versión, int cantidad de entradas
+ *   por entrada: short largo del nombre, nombre UTF-8, int ancho, int alto,
+ *                long tamaño y long fecha del PNG original, long offset de los píxeles
+ *   píxeles: ancho * alto ints en ARGB premultiplicado
+ *
+ * Se abre con un mapeo de memoria; cargar una imagen es copiar sus píxeles,
+ * sin decodificar PNG. El tamaño y la fecha del original sirven para
+ * detectar entradas viejas.
+ */
+public class AssetPack {
+    public static final int MAGIC = 0x4B41504D; // "MPAK"
+    public static final int VERSION = 1;
+
+    private final MappedByteBuffer data;
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private AssetPack(MappedByteBuffer data) {
+        this.data = data;
+        data.order(ByteOrder.LITTLE_ENDIAN);
+        readIndex();
+    }
+
+    // Devuelve null si el archivo no existe o no tiene el formato esperado
+    public static AssetPack open(Path path) {
+        if (!Files.isRegularFile(path)) return null;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new AssetPack(data);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Pack de imágenes inválido (" + path + "): " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void readIndex() {
+        if (data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IllegalStateException("formato o versión desconocidos");
+        }
+        int count = data.getInt(8);
+
+        ByteBuffer index = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        index.position(12);
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[index.getShort()];
+            index.get(name);
+            Entry entry = new Entry();
+            entry.width = index.getInt();
+            entry.height = index.getInt();
+            entry.sourceSize = index.getLong();
+            entry.sourceModified = index.getLong();
+            entry.offset = index.getLong();
+            entries.put(new String(name, StandardCharsets.UTF_8), entry);
+        }
+    }
+
+    /**
+     * Imagen guardada con ese nombre, o null si no está o si el PNG original
+     * cambió desde que se armó el pack.
+     */
+    public BufferedImage getImage(String name, long sourceSize, long sourceModified) {
+        Entry entry = entries.get(name);
+        if (entry == null || entry.sourceSize != sourceSize || entry.sourceModified != sourceModified) {
+            return null;
+        }
+
+        BufferedImage img = new BufferedImage(entry.width, entry.height, BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] pixels = ((DataBufferInt) img.getRaster().getDataBuffer()).getData();
+
+        // Copia en bloque desde el mapeo (duplicate: cada hilo con su propia posición)
+        IntBuffer source = data.duplicate().order(ByteOrder.LITTLE_ENDIAN)
+                .position((int) entry.offset).slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        source.get(pixels, 0, pixels.length);
+        return img;
+    }
+
+    public boolean contains(String name) { return entries.containsKey(name); }
+    public int size() { return entries.size(); }
+
+    // Escribe un pack con las imágenes dadas (ya en ARGB premultiplicado)
+    public static void write(Path path, List<PackedImage> images) throws IOException {
+        // Índice primero, para saber dónde empiezan los píxeles
+        int indexSize = 12;
+        byte[][] names = new byte[images.size()][];
+        for (int i = 0; i < images.size(); i++) {
+            names[i] = images.get(i).name.getBytes(StandardCharsets.UTF_8);
+            indexSize += 2 + names[i].length + 4 + 4 + 8 + 8 + 8;
+        }
+        long offset = (indexSize + 3) & ~3L; // píxeles alineados a 4 bytes
+
+        try (OutputStream file = Files.newOutputStream(path);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            ByteBuffer header = ByteBuffer.allocate((int) offset).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(images.size());
+            for (int i = 0; i < images.size(); i++) {
+                PackedImage image = images.get(i);
+                header.putShort((short) names[i].length).put(names[i]);
+                header.putInt(image.image.getWidth()).putInt(image.image.getHeight());
+                header.putLong(image.sourceSize).putLong(image.sourceModified);
+                header.putLong(offset);
+                offset += (long) image.image.getWidth() * image.image.getHeight() * 4;
+            }
+            out.write(header.array());
+
+            for (PackedImage image : images) {
+                int[] pixels = ((DataBufferInt) image.image.getRaster().getDataBuffer()).getData();
+                ByteBuffer block = ByteBuffer.allocate(pixels.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+                block.asIntBuffer().put(pixels);
+                out.write(block.array());
+            }
+        }
+    }
+
+    private static final class Entry {
+        int width, height;
+        long sourceSize, sourceModified;
+        long offset;
+    }
+
+    // Imagen a guardar (debe ser TYPE_INT_ARGB_PRE) con los datos del PNG original
+    public static final class PackedImage {
+        private final String name;
+        private final BufferedImage image;
+        private final long sourceSize, sourceModified;
+
+        public PackedImage(String name, BufferedImage image, long sourceSize, long sourceModified) {
+            this.name = name;
+            this.image = image;
+            this.sourceSize = sourceSize;
+            this.sourceModified = sourceModified;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package Clases;
+
+import javax.imageio.ImageIO;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Herramienta offline: decodifica los PNG del juego, los reduce a su tamaño
+ * máximo de dibujo (AssetSizes) y los guarda en un AssetPack.
+ *
+ * Uso (desde la raíz del proyecto):
+ *   java -cp <clases compiladas> Clases.AssetPacker [assets.pack]
+ */
+public class AssetPacker {
+
+    public static void main(String[] args) throws IOException {
+        Path output = Paths.get(args.length > 0 ? args[0] : "assets.pack");
+        List<AssetPack.PackedImage> images = new ArrayList<>();
+
+        for (String name : GameAssets.getAssetNames()) {
+            GameAssets.AssetSource source = GameAssets.findSource(name);
+            BufferedImage img = source != null ? ImageIO.read(source.url) : null;
+            if (img == null) {
+                System.out.println("  ✗ " + name + " NO encontrado");
+                continue;
+            }
+
+            Dimension size = AssetSizes.fit(name, img.getWidth(), img.getHeight());
+            BufferedImage packed = AssetSizes.downscale(img, size.width, size.height);
+            images.add(new AssetPack.PackedImage(name, packed, source.size, source.modified));
+            System.out.println("  ✓ " + name + " " + img.getWidth() + "x" + img.getHeight()
+                    + " -> " + size.width + "x" + size.height);
+        }
+
+        AssetPack.write(output, images);
+        System.out.println("Pack escrito en " + output + " (" + images.size() + " imágenes)");
+    }
+}
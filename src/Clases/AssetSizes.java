@@ -0,0 +1,89 @@
+package Clases;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tamaño máximo con el que se dibuja cada imagen en el juego.
+ * Guardar o cargar una imagen más grande que esto solo gasta memoria:
+ * el SpriteCache la termina escalando a un tamaño menor.
+ */
+public final class AssetSizes {
+    private static final Map<String, Dimension> MAX_DRAW_SIZES = new HashMap<>();
+
+    static {
+        MAX_DRAW_SIZES.put("/hongoBoss.png", new Dimension(80, 80));   // enemigos
+        MAX_DRAW_SIZES.put("/arbol.png", new Dimension(280, 290));
+        MAX_DRAW_SIZES.put("/montaña.png", new Dimension(480, 300));
+        MAX_DRAW_SIZES.put("/castillo.png", new Dimension(600, 500));
+        MAX_DRAW_SIZES.put("/corazon.png", new Dimension(35, 35));
+        MAX_DRAW_SIZES.put("/raton.png", new Dimension(200, 200));     // boss
+        MAX_DRAW_SIZES.put("/sol.png", new Dimension(140, 140));       // sol del título con pulso
+        MAX_DRAW_SIZES.put("/nube.png", new Dimension(170, 120));      // nubes del menú
+        // suelo.png no se limita: su ancho define el ancho de cada baldosa
+    }
+
+    // Personajes: como máximo 200x200 (selección y título)
+    private static final Dimension CHARACTER_FRAME_SIZE = new Dimension(200, 200);
+
+    private AssetSizes() {
+    }
+
+    // Tamaño máximo de un frame de personaje (también para los cortados de una hoja)
+    public static Dimension getCharacterFrameSize() {
+        return new Dimension(CHARACTER_FRAME_SIZE);
+    }
+
+    // Tamaño a guardar para una imagen de width x height (cada eje se reduce por separado, nunca se agranda)
+    public static Dimension fit(String filename, int width, int height) {
+        Dimension max = MAX_DRAW_SIZES.get(filename);
+        if (max == null && CharacterRegistry.getDefault().isFramePath(filename)) {
+            max = CHARACTER_FRAME_SIZE;
+        }
+        if (max == null) {
+            return new Dimension(width, height);
+        }
+        return new Dimension(Math.min(width, max.width), Math.min(height, max.height));
+    }
+
+    // Reduce la imagen si es más grande que su tamaño máximo de dibujo; si no, la devuelve igual
+    public static BufferedImage fitToDrawSize(String filename, BufferedImage img) {
+        Dimension size = fit(filename, img.getWidth(), img.getHeight());
+        if (size.width == img.getWidth() && size.height == img.getHeight()) {
+            return img;
+        }
+        return downscale(img, size.width, size.height);
+    }
+
+    /**
+     * Copia la imagen a width x height en ARGB premultiplicado. Al reducir mucho
+     * se va a la mitad en cada paso, que con bilineal da mejor calidad que un salto solo.
+     */
+    public static BufferedImage downscale(BufferedImage src, int width, int height) {
+        BufferedImage current = src;
+        int w = src.getWidth();
+        int h = src.getHeight();
+
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            if (current.getWidth() <= width * 2 && current.getHeight() <= height * 2) {
+                w = width;
+                h = height;
+            }
+
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g2d = next.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.setComposite(AlphaComposite.Src);
+            g2d.drawImage(current, 0, 0, w, h, null);
+            g2d.dispose();
+            current = next;
+        } while (w != width || h != height);
+
+        return current;
+    }
+}
@@ -1,29 +1,21 @@
 package Clases;
 
+/**
+ * Vista del jefe: un enemigo con salud (columna health del Archetype de jefes).
+ * Patrulla entre dos x; eso lo resuelve GameWorld con los sistemas de EntityStore.
+ */
 public class Boss extends Enemy {
-    private int health;
-    private static final int BOSS_GROUND_Y = 650;
+    // Altura fija del piso sobre el que camina
+    public static final int GROUND_Y = 650;
 
-    public Boss(int x, int y, int width, int height, int initialHealth) {
-        super(x, y, width, height, 2, 0);
-        health = initialHealth;
-        rect.y = BOSS_GROUND_Y - rect.height;
-    }
-
-    public void update(int groundY) {
-        rect.x += vx;
-        if (rect.x <= 0 || rect.x >= 5000 - rect.width) {
-            vx = -vx;
-        }
-
-        rect.y = BOSS_GROUND_Y - rect.height;
-        vy = 0;
+    public Boss(Archetype table, int id) {
+        super(table, id);
     }
 
     public void damage() {
-        health--;
+        table.health[row()]--;
     }
 
-    public boolean isAlive() { return health > 0; }
-    public int getHealth() { return health; }
-}
\ No newline at end of file
+    public boolean isAlive() { return exists() && table.getHealth(row()) > 0; }
+    public int getHealth() { return exists() ? table.getHealth(row()) : 0; }
+}
@@ -2,19 +2,41 @@ package Clases;
 
 import java.awt.Rectangle;
 
+/**
+ * Vista de una bala guardada en un Archetype (ver Enemy).
+ */
 public class Bullet {
-    private Rectangle rect;
-    private int dir;
-    private final int BULLET_SPEED = 25;
+    public static final int WIDTH = 20;
+    public static final int HEIGHT = 10;
+    public static final int SPEED = 25;
 
-    public Bullet(int x, int y, int direction) {
-        rect = new Rectangle(x, y, 20, 10);
-        dir = direction;
+    private final Archetype table;
+    private final int id;
+    private final Rectangle rect = new Rectangle();
+
+    public Bullet(Archetype table, int id) {
+        this.table = table;
+        this.id = id;
+    }
+
+    private int row() {
+        int row = table.rowOf(id);
+        if (row < 0) {
+            throw new IllegalStateException("la bala " + id + " ya no existe");
+        }
+        return row;
     }
 
-    public void update() {
-        rect.x += BULLET_SPEED * dir;
+    public boolean exists() { return table.rowOf(id) >= 0; }
+
+    // Copia de la posición y el tamaño actuales
+    public Rectangle getRect() {
+        int row = row();
+        rect.setBounds(table.getX(row), table.getY(row), table.getWidth(row), table.getHeight(row));
+        return rect;
     }
 
-    public Rectangle getRect() { return rect; }
-}
\ No newline at end of file
+    public void markRemoved() { table.markRemoved(row()); }
+    public boolean isRemoved() { return !exists() || table.isRemoved(row()); }
+    public int getRenderX(float alpha) { return table.getRenderX(row(), alpha); }
+}
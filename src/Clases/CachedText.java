@@ -0,0 +1,28 @@
+package Clases;
+
+/**
+ * Texto del tipo "PREFIJO: valor" que solo se vuelve a armar cuando cambia el valor.
+ */
+public class CachedText {
+    private final String prefix;
+    private final String suffix;
+    private int value;
+    private String text;
+
+    public CachedText(String prefix) {
+        this(prefix, "");
+    }
+
+    public CachedText(String prefix, String suffix) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    public String get(int newValue) {
+        if (text == null || newValue != value) {
+            value = newValue;
+            text = prefix + newValue + suffix;
+        }
+        return text;
+    }
+}
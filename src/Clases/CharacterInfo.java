@@ -0,0 +1,49 @@
+package Clases;
+
+import java.awt.Color;
+
+/**
+ * Datos de un personaje jugable: nombre, frames (dos PNG o una hoja de sprites), color y descripción.
+ * Las instancias las crea el CharacterRegistry (una por personaje).
+ */
+public class CharacterInfo {
+    private final String id;
+    private final String name;
+    private final String frame1Path;
+    private final String frame2Path;
+    private final String sheetPath;
+    private final Color color;
+    private final String description;
+
+    public CharacterInfo(String id, String name, String frame1Path, String frame2Path, Color color, String description) {
+        this.id = id;
+        this.name = name;
+        this.frame1Path = frame1Path;
+        this.frame2Path = frame2Path;
+        this.sheetPath = null;
+        this.color = color;
+        this.description = description;
+    }
+
+    public CharacterInfo(String id, String name, String sheetPath, Color color, String description) {
+        this.id = id;
+        this.name = name;
+        this.frame1Path = null;
+        this.frame2Path = null;
+        this.sheetPath = sheetPath;
+        this.color = color;
+        this.description = description;
+    }
+
+    public String getId() { return id; }
+    public String getName() { return name; }
+    public String getFrame1Path() { return frame1Path; }
+    public String getFrame2Path() { return frame2Path; }
+    public String getSheetPath() { return sheetPath; }
+    public boolean hasSheet() { return sheetPath != null; }
+    public Color getColor() { return color; }
+    public String getDescription() { return description; }
+
+    @Override
+    public String toString() { return id; }
+}
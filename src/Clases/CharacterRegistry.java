@@ -0,0 +1,137 @@
+package Clases;
+
+import Enums.CharacterType;
+import java.awt.Color;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lista de personajes jugables. Empieza con los de CharacterType y suma
+ * (o reemplaza, si repiten id) los de un archivo de texto, una línea por personaje:
+ *
+ *   id | Nombre | /ruta/frame1.png | /ruta/frame2.png | r,g,b (o #RRGGBB) | Descripción
+ *
+ * Si el tercer campo es una hoja de sprites (.sheet), el cuarto se deja vacío.
+ * Las líneas vacías y las que empiezan con # se ignoran.
+ * El archivo se toma de -Dmario.characters (por defecto characters.txt).
+ */
+public class CharacterRegistry {
+    private static CharacterRegistry defaultRegistry;
+
+    private final List<CharacterInfo> characters = new ArrayList<>();
+    private final Map<String, Integer> indexById = new HashMap<>();
+    private final Set<String> framePaths = new HashSet<>();
+
+    public static synchronized CharacterRegistry getDefault() {
+        if (defaultRegistry == null) {
+            defaultRegistry = new CharacterRegistry();
+            defaultRegistry.addDefaults();
+            defaultRegistry.loadIfExists(Paths.get(System.getProperty("mario.characters", "characters.txt")));
+        }
+        return defaultRegistry;
+    }
+
+    private void addDefaults() {
+        for (CharacterType type : CharacterType.values()) {
+            if (type.getSheetPath() != null) {
+                add(new CharacterInfo(type.name(), type.getName(), type.getSheetPath(), type.getColor(), type.getDescription()));
+            } else {
+                add(new CharacterInfo(type.name(), type.getName(), type.getFrame1Path(), type.getFrame2Path(),
+                        type.getColor(), type.getDescription()));
+            }
+        }
+    }
+
+    public void loadIfExists(Path path) {
+        if (!Files.isRegularFile(path)) return;
+
+        int before = characters.size();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                try {
+                    add(parse(line));
+                } catch (IllegalArgumentException e) {
+                    System.err.println(path + ":" + lineNumber + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error leyendo personajes de " + path + ": " + e.getMessage());
+        }
+        System.out.println("Personajes: " + characters.size() + " (" + (characters.size() - before) + " nuevos de " + path + ")");
+    }
+
+    private static CharacterInfo parse(String line) {
+        String[] parts = line.split("\\|", -1);
+        if (parts.length < 6) {
+            throw new IllegalArgumentException("se esperaban 6 campos separados por |");
+        }
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = parts[i].trim();
+        }
+        if (parts[0].isEmpty()) {
+            throw new IllegalArgumentException("falta el id");
+        }
+        if (parts[2].endsWith(".sheet")) {
+            return new CharacterInfo(parts[0], parts[1], parts[2], parseColor(parts[4]), parts[5]);
+        }
+        return new CharacterInfo(parts[0], parts[1], parts[2], parts[3], parseColor(parts[4]), parts[5]);
+    }
+
+    private static Color parseColor(String text) {
+        try {
+            if (text.startsWith("#")) {
+                return Color.decode(text);
+            }
+            String[] rgb = text.split(",");
+            return new Color(Integer.parseInt(rgb[0].trim()), Integer.parseInt(rgb[1].trim()), Integer.parseInt(rgb[2].trim()));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("color inválido: " + text);
+        }
+    }
+
+    // Si el id ya existe, reemplaza al personaje en el mismo lugar
+    public void add(CharacterInfo character) {
+        Integer index = indexById.get(character.getId());
+        if (index != null) {
+            characters.set(index, character);
+        } else {
+            indexById.put(character.getId(), characters.size());
+            characters.add(character);
+        }
+        if (!character.hasSheet()) {
+            framePaths.add(character.getFrame1Path());
+            framePaths.add(character.getFrame2Path());
+        }
+    }
+
+    public CharacterInfo get(int index) { return characters.get(index); }
+    public int size() { return characters.size(); }
+    public List<CharacterInfo> getAll() { return Collections.unmodifiableList(characters); }
+
+    public CharacterInfo getById(String id) {
+        Integer index = indexById.get(id);
+        return index != null ? characters.get(index) : null;
+    }
+
+    public CharacterInfo getDefaultCharacter() { return characters.get(0); }
+
+    // true si la imagen es un frame de algún personaje (para AssetSizes)
+    public boolean isFramePath(String path) { return framePaths.contains(path); }
+}
@@ -2,24 +2,43 @@ package Clases;
 
 import java.awt.Rectangle;
 
+/**
+ * Vista de un enemigo guardado en un Archetype (los datos están en sus columnas).
+ * Sigue apuntando a la misma entidad aunque cambie de fila; si la entidad
+ * ya se quitó, exists() da false y isRemoved() da true.
+ */
 public class Enemy {
-    protected Rectangle rect;
-    protected int vy, vx;
+    protected final Archetype table;
+    protected final int id;
+    // Copia de la caja, reutilizada entre llamadas a getRect()
+    private final Rectangle rect = new Rectangle();
 
-    public Enemy(int x, int y, int width, int height, int speedX, int speedY) {
-        rect = new Rectangle(x, y, width, height);
-        vx = speedX;
-        vy = speedY;
+    public Enemy(Archetype table, int id) {
+        this.table = table;
+        this.id = id;
     }
 
-    public void update(int groundY) {
-        rect.x += vx;
-        rect.y += vy;
-
-        if (rect.y <= 50 || rect.y >= groundY - rect.height) {
-            vy = -vy;
+    protected int row() {
+        int row = table.rowOf(id);
+        if (row < 0) {
+            throw new IllegalStateException("la entidad " + id + " ya no está en " + table.getName());
         }
+        return row;
+    }
+
+    public boolean exists() { return table.rowOf(id) >= 0; }
+
+    // Copia de la posición y el tamaño actuales (modificarla no mueve la entidad)
+    public Rectangle getRect() {
+        int row = row();
+        rect.setBounds(table.getX(row), table.getY(row), table.getWidth(row), table.getHeight(row));
+        return rect;
     }
 
-    public Rectangle getRect() { return rect; }
-}
\ No newline at end of file
+    public void markRemoved() { table.markRemoved(row()); }
+    public boolean isRemoved() { return !exists() || table.isRemoved(row()); }
+    public void setAnimationStart(long tick) { table.setAnimationStart(row(), tick); }
+    public long getAnimationStart() { return table.getAnimationStart(row()); }
+    public int getRenderX(float alpha) { return table.getRenderX(row(), alpha); }
+    public int getRenderY(float alpha) { return table.getRenderY(row(), alpha); }
+}
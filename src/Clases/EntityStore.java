@@ -0,0 +1,70 @@
+package Clases;
+
+/**
+ * Entidades de la partida agrupadas por tipo (Archetype), con los sistemas
+ * que las recorren columna por columna: movimiento, rebote y vida útil.
+ * Las colisiones con el jugador y entre balas y enemigos las resuelve
+ * GameWorld, porque dependen de las reglas del juego.
+ */
+public class EntityStore {
+    private final Archetype enemies = new Archetype("enemigos", 256);
+    private final Archetype bullets = new Archetype("balas", 128);
+    private final Archetype bosses = new Archetype("jefes", 1);
+
+    public void clear() {
+        enemies.clear();
+        bullets.clear();
+        bosses.clear();
+    }
+
+    // Movimiento: guarda la posición anterior y suma la velocidad
+    public static void move(Archetype table) {
+        int[] x = table.x, y = table.y, vx = table.vx, vy = table.vy;
+        int[] prevX = table.prevX, prevY = table.prevY;
+        for (int i = 0, n = table.size; i < n; i++) {
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            x[i] += vx[i];
+            y[i] += vy[i];
+        }
+    }
+
+    // Rebote vertical entre minY y el suelo
+    public static void bounceVertical(Archetype table, int minY, int groundY) {
+        int[] y = table.y, height = table.height, vy = table.vy;
+        for (int i = 0, n = table.size; i < n; i++) {
+            if (y[i] <= minY || y[i] >= groundY - height[i]) {
+                vy[i] = -vy[i];
+            }
+        }
+    }
+
+    // Rebote horizontal entre minX y maxX (patrulla)
+    public static void bounceHorizontal(Archetype table, int minX, int maxX) {
+        int[] x = table.x, width = table.width, vx = table.vx;
+        for (int i = 0, n = table.size; i < n; i++) {
+            if (x[i] <= minX || x[i] >= maxX - width[i]) {
+                vx[i] = -vx[i];
+            }
+        }
+    }
+
+    // Vida útil: marca para quitar las que salieron de [minX, maxX]
+    public static void expireOutside(Archetype table, int minX, int maxX) {
+        int[] x = table.x, flags = table.flags;
+        for (int i = 0, n = table.size; i < n; i++) {
+            if (x[i] < minX || x[i] > maxX) {
+                flags[i] |= Archetype.REMOVED;
+            }
+        }
+    }
+
+    public Archetype getEnemies() { return enemies; }
+    public Archetype getBullets() { return bullets; }
+    public Archetype getBosses() { return bosses; }
+
+    // Vistas de una fila (para código que trabaja con una entidad suelta)
+    public Enemy getEnemy(int row) { return new Enemy(enemies, enemies.getId(row)); }
+    public Bullet getBullet(int row) { return new Bullet(bullets, bullets.getId(row)); }
+    public Boss getBoss(int row) { return new Boss(bosses, bosses.getId(row)); }
+}
@@ -1,68 +1,275 @@
 package Clases;
 
 import java.awt.Rectangle;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 
+/**
+ * Escenario dividido en chunks de ancho fijo. Cada chunk se genera a partir
+ * de la semilla y su número, así que siempre sale igual; solo se mantienen
+ * cargados los chunks cercanos al jugador y los que quedan lejos se descartan.
+ * La memoria y el costo por frame no dependen de cuánto se haya avanzado.
+ * Si se le pasa un LevelFile, los chunks se leen de ahí en vez de generarse.
+ */
 public class Environment {
-    private ArrayList<Rectangle> trees;
-    private ArrayList<Rectangle> mountains;
-    private ArrayList<Rectangle> castles;
-    private ArrayList<Rectangle> clouds;
-    private ArrayList<Rectangle> platforms;
-    private Random rand;
+    public static final int CHUNK_WIDTH = 1800;
+    // Distancia a cada lado del jugador que queda cargada (cubre la cámara con margen)
+    private static final int RESIDENT_SPAN = 2 * CHUNK_WIDTH;
+    private static final int CLOUD_COUNT = 15;
+    // Las nubes dan la vuelta dentro de esta distancia al jugador
+    private static final int CLOUD_RANGE = 2500;
+
+    private final IntervalIndex trees;
+    private final IntervalIndex mountains;
+    private final IntervalIndex castles;
+    private final IntervalIndex clouds;
+    private final IntervalIndex platforms;
+    private final Random rand;
+    private final long seed;
     private final int GROUND_Y;
     private final int WORLD_WIDTH;
+    private final int chunkWidth;
+    // Chunks cargados a cada lado del que tiene al jugador
+    private final int residentRadius;
+    // Nivel armado a mano (null: se genera con la semilla)
+    private final LevelFile level;
+    private static final int CLOUD_SPEED = 1;
+
+    // Chunks cargados, contiguos y ordenados por número
+    private final ArrayDeque<Chunk> chunks = new ArrayDeque<>();
+    private final ObjectPool<Chunk> chunkPool;
+    private final int chunkCount;
+    private int focusX;
+    private long generatedChunks;
+
+    // Resultado reutilizable de queryVisible (evita crear listas en cada frame)
+    private final VisibleLayers visible = new VisibleLayers();
 
     public Environment(int groundY, int worldWidth) {
+        this(groundY, worldWidth, new Random().nextLong());
+    }
+
+    // Con la misma semilla se genera siempre el mismo escenario
+    public Environment(int groundY, int worldWidth, long seed) {
+        this(groundY, worldWidth, CHUNK_WIDTH, null, seed);
+    }
+
+    // Escenario de un nivel armado a mano; la semilla solo se usa para las nubes
+    public Environment(int groundY, LevelFile level, long seed) {
+        this(groundY, level.getWorldWidth(), level.getChunkWidth(), level, seed);
+    }
+
+    private Environment(int groundY, int worldWidth, int chunkWidth, LevelFile level, long seed) {
         this.GROUND_Y = groundY;
         this.WORLD_WIDTH = worldWidth;
-        rand = new Random();
-        trees = new ArrayList<>();
-        mountains = new ArrayList<>();
-        castles = new ArrayList<>();
-        clouds = new ArrayList<>();
-        platforms = new ArrayList<>();
-        initEnvironment();
+        this.chunkWidth = chunkWidth;
+        this.residentRadius = (int) ((RESIDENT_SPAN + (long) chunkWidth - 1) / chunkWidth);
+        this.chunkPool = new ObjectPool<>(Chunk::new, 2 * residentRadius + 1, 2 * residentRadius + 2);
+        this.level = level;
+        this.seed = seed;
+        rand = new Random(seed);
+        trees = new IntervalIndex();
+        mountains = new IntervalIndex();
+        castles = new IntervalIndex();
+        clouds = new IntervalIndex();
+        platforms = new IntervalIndex();
+        chunkCount = (int) ((worldWidth + (long) chunkWidth - 1) / chunkWidth);
+        streamAround(0);
+        initClouds();
     }
 
-    private void initEnvironment() {
-        // Árboles
-        for (int i = 0; i < 15; i++) {
-            Rectangle tree = new Rectangle(i*900 + rand.nextInt(500), GROUND_Y - 290, 280, 290);
-            trees.add(tree);
-            platforms.add(new Rectangle(tree.x, GROUND_Y - 290, 280, 20));
+    /**
+     * Deja cargados los chunks alrededor de x (normalmente el jugador):
+     * genera los que faltan y descarta los que quedaron lejos.
+     */
+    public void streamAround(int x) {
+        focusX = x;
+        int center = Math.floorDiv(Math.max(0, Math.min(x, WORLD_WIDTH - 1)), chunkWidth);
+        int first = Math.max(0, center - residentRadius);
+        int last = Math.min(chunkCount - 1, center + residentRadius);
+        if (!chunks.isEmpty() && chunks.peekFirst().index == first && chunks.peekLast().index == last) {
+            return;
+        }
+
+        // Descartar los que quedaron fuera (al pool, para reusar sus listas)
+        while (!chunks.isEmpty() && chunks.peekFirst().index < first) {
+            chunkPool.free(chunks.pollFirst());
+        }
+        while (!chunks.isEmpty() && chunks.peekLast().index > last) {
+            chunkPool.free(chunks.pollLast());
+        }
+
+        // Generar los que faltan en cada punta
+        if (chunks.isEmpty()) {
+            chunks.addLast(generateChunk(first));
+        }
+        while (chunks.peekFirst().index > first) {
+            chunks.addFirst(generateChunk(chunks.peekFirst().index - 1));
+        }
+        while (chunks.peekLast().index < last) {
+            chunks.addLast(generateChunk(chunks.peekLast().index + 1));
+        }
+
+        rebuildIndexes();
+    }
+
+    private Chunk generateChunk(int index) {
+        Chunk chunk = chunkPool.obtain();
+        chunk.reset(index);
+        generatedChunks++;
+
+        if (level != null) {
+            level.readChunk(index, GROUND_Y, chunk.layers);
+            return chunk;
+        }
+
+        Random chunkRand = new Random(seed ^ (index * 0x9E3779B97F4A7C15L));
+        int baseX = index * CHUNK_WIDTH;
+
+        // Árboles (con plataforma en la copa)
+        for (int i = 0; i < 2; i++) {
+            Rectangle tree = new Rectangle(baseX + i*900 + chunkRand.nextInt(500), GROUND_Y - 290, 280, 290);
+            if (tree.x >= WORLD_WIDTH) continue;
+            chunk.trees.add(tree);
+            chunk.platforms.add(new Rectangle(tree.x, GROUND_Y - 290, 280, 20));
         }
 
         // Montañas
-        for (int i = 0; i < 5; i++) {
-            mountains.add(new Rectangle(i*900 + rand.nextInt(500), GROUND_Y - 270, 480, 300));
+        for (int i = 0; i < 2; i++) {
+            int x = baseX + i*900 + chunkRand.nextInt(500);
+            if (x >= WORLD_WIDTH) continue;
+            chunk.mountains.add(new Rectangle(x, GROUND_Y - 270, 480, 300));
+        }
+
+        // Castillo (con dos plataformas)
+        int castleX = baseX + 100 + chunkRand.nextInt(200);
+        if (castleX < WORLD_WIDTH) {
+            chunk.castles.add(new Rectangle(castleX, GROUND_Y - 430, 600, 500));
+            chunk.platforms.add(new Rectangle(castleX + 50, GROUND_Y - 430, 500, 20));
+            chunk.platforms.add(new Rectangle(castleX + 150, GROUND_Y - 330, 300, 20));
         }
+        return chunk;
+    }
 
-        // Castillos
-        for (int i = 0; i < 3; i++) {
-            Rectangle castle = new Rectangle(100 + i*1700 + rand.nextInt(200), GROUND_Y - 430, 600, 500);
-            castles.add(castle);
-            platforms.add(new Rectangle(castle.x + 50, GROUND_Y - 430, 500, 20));
-            platforms.add(new Rectangle(castle.x + 150, GROUND_Y - 330, 300, 20));
+    // Los índices solo tienen lo de los chunks cargados (pocos objetos, en orden)
+    private void rebuildIndexes() {
+        trees.clear();
+        mountains.clear();
+        castles.clear();
+        platforms.clear();
+        for (Chunk chunk : chunks) {
+            addAll(trees, chunk.trees);
+            addAll(mountains, chunk.mountains);
+            addAll(castles, chunk.castles);
+            addAll(platforms, chunk.platforms);
         }
+    }
 
-        // Nubes
-        for (int i = 0; i < 15; i++) {
-            clouds.add(new Rectangle(rand.nextInt(WORLD_WIDTH), rand.nextInt(200), 150, 120));
+    private static void addAll(IntervalIndex index, ArrayList<Rectangle> items) {
+        for (int i = 0; i < items.size(); i++) {
+            index.add(items.get(i));
+        }
+    }
+
+    // Nubes: una cantidad fija que se mueve con el jugador
+    private void initClouds() {
+        for (int i = 0; i < CLOUD_COUNT; i++) {
+            clouds.add(new Rectangle(focusX - CLOUD_RANGE + rand.nextInt(2 * CLOUD_RANGE), rand.nextInt(200), 150, 120));
         }
     }
 
     public void updateClouds() {
-        for (Rectangle c : clouds) {
-            c.x -= 1;
-            if (c.x + c.width < 0) c.x = WORLD_WIDTH;
+        ArrayList<Rectangle> items = clouds.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            Rectangle c = items.get(i);
+            c.x -= CLOUD_SPEED;
+            // Las que quedan lejos del jugador reaparecen del otro lado
+            int left = focusX - CLOUD_RANGE;
+            if (c.x + c.width < left || c.x > focusX + CLOUD_RANGE) {
+                c.x = left + Math.floorMod(c.x - left, 2 * CLOUD_RANGE);
+            }
+        }
+        // Las nubes que dieron la vuelta quedan fuera de orden
+        clouds.resort();
+    }
+
+    /**
+     * Devuelve los objetos de cada capa que se solapan con la ventana
+     * [cameraX, cameraX + width). El resultado se reutiliza entre llamadas.
+     */
+    public VisibleLayers queryVisible(int cameraX, int width) {
+        visible.clear();
+        int maxX = cameraX + width;
+        trees.query(cameraX, maxX, visible.trees);
+        mountains.query(cameraX, maxX, visible.mountains);
+        castles.query(cameraX, maxX, visible.castles);
+        clouds.query(cameraX, maxX, visible.clouds);
+        platforms.query(cameraX, maxX, visible.platforms);
+        return visible;
+    }
+
+    // Todas las nubes se mueven igual: desplazamiento respecto del tick actual
+    public int getCloudRenderOffset(float alpha) {
+        return Math.round(CLOUD_SPEED * (1 - alpha));
+    }
+
+    // Objetos de los chunks cargados
+    public ArrayList<Rectangle> getTrees() { return trees.getItems(); }
+    public ArrayList<Rectangle> getMountains() { return mountains.getItems(); }
+    public ArrayList<Rectangle> getCastles() { return castles.getItems(); }
+    public ArrayList<Rectangle> getClouds() { return clouds.getItems(); }
+    public ArrayList<Rectangle> getPlatforms() { return platforms.getItems(); }
+    // Plataformas ordenadas por x, para buscar solo las de un tramo (colisiones)
+    public IntervalIndex getPlatformIndex() { return platforms; }
+
+    public int getWorldWidth() { return WORLD_WIDTH; }
+    public int getChunkCount() { return chunkCount; }
+    public int getResidentChunkCount() { return chunks.size(); }
+    public int getFirstResidentChunk() { return chunks.isEmpty() ? -1 : chunks.peekFirst().index; }
+    public long getGeneratedChunks() { return generatedChunks; }
+
+    // Contenido de un chunk; las listas se reusan cuando el chunk vuelve al pool
+    private static final class Chunk {
+        int index;
+        final ArrayList<Rectangle> trees = new ArrayList<>(2);
+        final ArrayList<Rectangle> mountains = new ArrayList<>(2);
+        final ArrayList<Rectangle> castles = new ArrayList<>(1);
+        final ArrayList<Rectangle> platforms = new ArrayList<>(4);
+        // Las mismas listas en el orden de tipos de LevelFile
+        final List<List<Rectangle>> layers = Arrays.asList(trees, mountains, castles, platforms);
+
+        void reset(int index) {
+            this.index = index;
+            trees.clear();
+            mountains.clear();
+            castles.clear();
+            platforms.clear();
         }
     }
 
-    public ArrayList<Rectangle> getTrees() { return trees; }
-    public ArrayList<Rectangle> getMountains() { return mountains; }
-    public ArrayList<Rectangle> getCastles() { return castles; }
-    public ArrayList<Rectangle> getClouds() { return clouds; }
-    public ArrayList<Rectangle> getPlatforms() { return platforms; }
-}
\ No newline at end of file
+    // Capas visibles en la cámara
+    public static class VisibleLayers {
+        private final ArrayList<Rectangle> trees = new ArrayList<>();
+        private final ArrayList<Rectangle> mountains = new ArrayList<>();
+        private final ArrayList<Rectangle> castles = new ArrayList<>();
+        private final ArrayList<Rectangle> clouds = new ArrayList<>();
+        private final ArrayList<Rectangle> platforms = new ArrayList<>();
+
+        private void clear() {
+            trees.clear();
+            mountains.clear();
+            castles.clear();
+            clouds.clear();
+            platforms.clear();
+        }
+
+        public ArrayList<Rectangle> getTrees() { return trees; }
+        public ArrayList<Rectangle> getMountains() { return mountains; }
+        public ArrayList<Rectangle> getCastles() { return castles; }
+        public ArrayList<Rectangle> getClouds() { return clouds; }
+        public ArrayList<Rectangle> getPlatforms() { return platforms; }
+    }
+}
@@ -0,0 +1,58 @@
+package Clases;
+
+/**
+ * Acumulador de paso fijo: la simulación avanza siempre en ticks de la misma
+ * duración, sin importar cada cuánto se dibuje. El resto que queda en el
+ * acumulador da el "alpha" para interpolar posiciones al dibujar.
+ */
+public class FixedTimestep {
+    private final long stepNanos;
+    private final int maxStepsPerFrame;
+    private long accumulator;
+    private long lastTime;
+    private boolean started;
+
+    public FixedTimestep(long stepNanos, int maxStepsPerFrame) {
+        this.stepNanos = stepNanos;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    // Descarta el tiempo acumulado (por ejemplo, al salir de la pausa)
+    public void reset() {
+        started = false;
+        accumulator = 0;
+    }
+
+    // Devuelve cuántos ticks hay que simular hasta 'now'
+    public int advance(long now) {
+        if (!started) {
+            started = true;
+            lastTime = now;
+            return 0;
+        }
+
+        accumulator += now - lastTime;
+        lastTime = now;
+
+        int steps = (int) Math.min(accumulator / stepNanos, maxStepsPerFrame);
+        accumulator -= steps * stepNanos;
+
+        // Si nos quedamos muy atrás se descarta el exceso en lugar de acelerar el juego
+        if (accumulator >= stepNanos) {
+            accumulator %= stepNanos;
+        }
+        return steps;
+    }
+
+    // Fracción del tick actual ya transcurrida, entre 0 y 1
+    public float getAlpha() {
+        return accumulator / (float) stepNanos;
+    }
+
+    public long getStepNanos() { return stepNanos; }
+
+    // Interpolación entre la posición del tick anterior y la actual
+    public static int lerp(int previous, int current, float alpha) {
+        return previous + Math.round((current - previous) * alpha);
+    }
+}
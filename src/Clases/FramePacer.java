@@ -0,0 +1,57 @@
+package Clases;
+
+/**
+ * Controla el ritmo de frames con System.nanoTime: duerme la mayor parte
+ * del tiempo de espera y hace espera activa el último tramo para no pasarse.
+ */
+public class FramePacer {
+    // Por debajo de este margen ya no se duerme (Thread.sleep no es preciso)
+    private static final long SPIN_THRESHOLD_NANOS = 2_000_000;
+
+    private final long frameNanos;
+    private final FrameStats stats = new FrameStats(240);
+    private long nextDeadline;
+    private long lastFrameStart;
+
+    public FramePacer(int targetFps) {
+        this.frameNanos = 1_000_000_000L / Math.max(1, targetFps);
+        reset();
+    }
+
+    public void reset() {
+        lastFrameStart = System.nanoTime();
+        nextDeadline = lastFrameStart + frameNanos;
+    }
+
+    // Espera hasta el comienzo del siguiente frame y registra la duración del actual
+    public void sync() {
+        long now = System.nanoTime();
+        long remaining = nextDeadline - now;
+        while (remaining > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                try {
+                    Thread.sleep((remaining - SPIN_THRESHOLD_NANOS) / 1_000_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            } else {
+                Thread.onSpinWait();
+            }
+            now = System.nanoTime();
+            remaining = nextDeadline - now;
+        }
+
+        stats.record(now - lastFrameStart);
+        lastFrameStart = now;
+
+        // Si vamos atrasados más de un frame no intentamos recuperar de golpe
+        nextDeadline += frameNanos;
+        if (now - nextDeadline > frameNanos) {
+            nextDeadline = now + frameNanos;
+        }
+    }
+
+    public FrameStats getStats() { return stats; }
+    public long getFrameNanos() { return frameNanos; }
+}
@@ -0,0 +1,60 @@
+package Clases;
+
+/**
+ * Estadísticas de duración de frames (últimos N frames, en nanosegundos).
+ */
+public class FrameStats {
+    private final long[] samples;
+    private int count;
+    private int next;
+    private long totalFrames;
+
+    public FrameStats(int capacity) {
+        samples = new long[capacity];
+    }
+
+    public synchronized void record(long frameNanos) {
+        samples[next] = frameNanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) count++;
+        totalFrames++;
+    }
+
+    public synchronized double getAverageMillis() {
+        if (count == 0) return 0;
+        long sum = 0;
+        for (int i = 0; i < count; i++) sum += samples[i];
+        return sum / (double) count / 1_000_000.0;
+    }
+
+    public synchronized double getMinMillis() {
+        if (count == 0) return 0;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < count; i++) min = Math.min(min, samples[i]);
+        return min / 1_000_000.0;
+    }
+
+    public synchronized double getMaxMillis() {
+        long max = 0;
+        for (int i = 0; i < count; i++) max = Math.max(max, samples[i]);
+        return max / 1_000_000.0;
+    }
+
+    public synchronized double getLastMillis() {
+        if (count == 0) return 0;
+        return samples[(next - 1 + samples.length) % samples.length] / 1_000_000.0;
+    }
+
+    public double getFps() {
+        double avg = getAverageMillis();
+        return avg > 0 ? 1000.0 / avg : 0;
+    }
+
+    public synchronized long getTotalFrames() { return totalFrames; }
+
+    @Override
+    public String toString() {
+        return String.format("%.1f FPS | media %.2f ms | min %.2f ms | max %.2f ms",
+                getFps(), getAverageMillis(), getMinMillis(), getMaxMillis());
+    }
+}
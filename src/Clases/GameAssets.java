@@ -1,115 +1,381 @@
 package Clases;
 
-import Enums.CharacterType;
+import Enums.SkinType;
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
 import java.io.File;
 import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class GameAssets {
-    private final EnumMap<CharacterType, BufferedImage[]> characterAnimations = new EnumMap<>(CharacterType.class);
-    public BufferedImage mushroom, tree, mountain, castle, heart, boss, sun, cloud, ground;
+    // Assets comunes: se cargan en paralelo y quedan en null hasta que terminan
+    private static final String[] COMMON_ASSETS = {
+            "hongoBoss.png", "arbol.png", "montaña.png", "castillo.png",
+            "corazon.png", "raton.png", "sol.png", "nube.png", "suelo.png"
+    };
+
+    // Frames de personajes: se cargan al pedirlos y solo quedan los últimos usados
+    public static final int DEFAULT_CHARACTER_CACHE_SIZE = 8;
+    private final int characterCacheSize;
+    private final LinkedHashMap<CharacterInfo, CharacterFrames> characterCache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<CharacterInfo, CompletableFuture<SpriteAnimations>> characterLoads = new HashMap<>();
+    // Hasta que llegan los frames reales se usan placeholders
+    private final Map<CharacterInfo, SpriteAnimations> placeholders = new ConcurrentHashMap<>();
+    public volatile BufferedImage mushroom, tree, mountain, castle, heart, boss, sun, cloud, ground;
+    // Animaciones de enemigos y boss (null hasta que carga su imagen)
+    private volatile SpriteAnimations enemyAnimations, bossAnimations;
+
+    // Sprites escalados una vez al tamaño de dibujo
+    private final SpriteCache spriteCache;
+
+    // Imágenes ya decodificadas (ver AssetPacker); null si no hay pack
+    private final AssetPack pack;
+
+    // Carga en segundo plano: un future por asset
+    private final ExecutorService loader;
+    private final Map<String, CompletableFuture<BufferedImage>> commonFutures = new HashMap<>();
+    private final CompletableFuture<Void> allLoaded;
+    private final int totalAssets;
+    private final AtomicInteger loadedAssets = new AtomicInteger();
+    // Imágenes que no se encontraron o no se pudieron leer (se dibuja un reemplazo)
+    private final AtomicInteger missingAssets = new AtomicInteger();
+    private final List<Runnable> loadListeners = new CopyOnWriteArrayList<>();
+
+    // Memoria de las imágenes decodificadas (sin contar el SpriteCache)
+    public static final long DEFAULT_MEMORY_BUDGET_BYTES = 16L * 1024 * 1024;
+    private final long memoryBudgetBytes;
+    private final AtomicLong decodedBytes = new AtomicLong();
+    private final Map<String, ImageInfo> decodedImages = new ConcurrentHashMap<>();
 
     public GameAssets() {
+        this(Long.getLong("mario.spriteCache.bytes", SpriteCache.DEFAULT_BUDGET_BYTES),
+                Long.getLong("mario.assets.bytes", DEFAULT_MEMORY_BUDGET_BYTES));
+    }
+
+    public GameAssets(long spriteCacheBudgetBytes) {
+        this(spriteCacheBudgetBytes, DEFAULT_MEMORY_BUDGET_BYTES);
+    }
+
+    public GameAssets(long spriteCacheBudgetBytes, long memoryBudgetBytes) {
+        spriteCache = new SpriteCache(spriteCacheBudgetBytes);
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.characterCacheSize = Math.max(1, Integer.getInteger("mario.characterCache", DEFAULT_CHARACTER_CACHE_SIZE));
+        // Al arrancar solo se cargan los assets comunes; los personajes, cuando se piden
+        totalAssets = COMMON_ASSETS.length;
+
         System.out.println("=== CARGANDO IMÁGENES ===");
-        loadCommonAssets();
-        loadCharacterAssets();
-        System.out.println("=== IMÁGENES CARGADAS ===");
+        pack = AssetPack.open(Paths.get(System.getProperty("mario.assetPack", "assets.pack")));
+        if (pack != null) {
+            System.out.println("Usando pack de imágenes (" + pack.size() + " entradas)");
+        }
+        // Los hilos se terminan solos cuando no hay nada que cargar
+        int threads = Math.max(2, Math.min(totalAssets, Runtime.getRuntime().availableProcessors()));
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 5, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "asset-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        loader = pool;
+
+        List<CompletableFuture<?>> all = loadCommonAssets();
+        allLoaded = CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0]));
+        allLoaded.whenComplete((ignored, error) -> {
+            System.out.println("=== IMÁGENES CARGADAS ===");
+            System.out.print(getMemoryReport());
+        });
     }
 
-    private void loadCharacterAssets() {
-        System.out.println("\n--- CARGANDO PERSONAJES ---");
-        for (CharacterType type : CharacterType.values()) {
-            System.out.println("Personaje: " + type.getName());
+    /**
+     * Empieza a cargar los frames del personaje (si no están ya cargados o en camino).
+     * El future termina con sus animaciones, después de avisar a los listeners.
+     */
+    public CompletableFuture<SpriteAnimations> getCharacterAnimationsFuture(CharacterInfo type) {
+        synchronized (characterCache) {
+            CompletableFuture<SpriteAnimations> load = characterLoads.get(type);
+            if (load != null) {
+                return load;
+            }
+
+            CompletableFuture<CharacterFrames> frames;
+            if (type.hasSheet()) {
+                frames = CompletableFuture.supplyAsync(() -> loadSheetFrames(type), loader);
+            } else {
+                frames = loadAsync(type.getFrame1Path()).thenCombine(loadAsync(type.getFrame2Path()),
+                        (img1, img2) -> loadPngFrames(type, img1, img2));
+            }
 
+            load = frames.thenApply(loaded -> {
+                cacheCharacter(type, loaded);
+                return loaded.get(SkinType.ORIGINAL);
+            }).whenComplete((loaded, error) -> notifyListeners());
+            characterLoads.put(type, load);
+            return load;
+        }
+    }
+
+    // Dos PNG sueltos: si falta alguno, un recuadro de color en su lugar
+    private CharacterFrames loadPngFrames(CharacterInfo type, BufferedImage img1, BufferedImage img2) {
+        BufferedImage[] loaded = new BufferedImage[2];
+
+        if (img1 == null) {
+            missingAssets.incrementAndGet();
+            System.out.println("  ✗ No se encontró: " + type.getFrame1Path());
+            loaded[0] = createSimplePlaceholder(type.getName() + " 1", type.getColor());
+        } else {
+            System.out.println("  ✓ " + type.getName() + " frame 1 cargado: " + type.getFrame1Path());
+            loaded[0] = img1;
+        }
+
+        if (img2 == null) {
+            missingAssets.incrementAndGet();
+            System.out.println("  ✗ No se encontró: " + type.getFrame2Path());
+            loaded[1] = createSimplePlaceholder(type.getName() + " 2", type.getColor().brighter());
+        } else {
+            System.out.println("  ✓ " + type.getName() + " frame 2 cargado: " + type.getFrame2Path());
+            loaded[1] = img2;
+        }
+
+        // Se guardan indexados: las skins comparten estos píxeles.
+        // Un PNG con más colores de los que entran en una paleta también usa el recuadro
+        String[] paths = {type.getFrame1Path(), type.getFrame2Path()};
+        PaletteSprite[] sprites = new PaletteSprite[loaded.length];
+        for (int i = 0; i < loaded.length; i++) {
             try {
-                BufferedImage[] frames = new BufferedImage[2];
-
-                // Cargar frame 1
-                frames[0] = loadImageFromAssets(type.getFrame1Path());
-                if (frames[0] == null) {
-                    System.out.println("  ✗ No se encontró: " + type.getFrame1Path());
-                    frames[0] = createSimplePlaceholder(type.getName() + " 1", getCharacterColor(type));
-                } else {
-                    System.out.println("  ✓ Frame 1 cargado: " + type.getFrame1Path());
-                }
+                sprites[i] = PaletteSprite.fromImage(loaded[i]);
+            } catch (IllegalArgumentException e) {
+                missingAssets.incrementAndGet();
+                System.out.println("  ✗ " + paths[i] + ": " + e.getMessage());
+                sprites[i] = PaletteSprite.fromImage(createSimplePlaceholder(type.getName() + " " + (i + 1), type.getColor()));
+            }
+        }
+        // Cada frame suma su copia espejada (solo los índices: comparte la paleta)
+        resizeImage(type.getFrame1Path(), sprites[0].getBytes() + sprites[0].getPixelBytes());
+        resizeImage(type.getFrame2Path(), sprites[1].getBytes() + sprites[1].getPixelBytes());
 
-                // Cargar frame 2
-                frames[1] = loadImageFromAssets(type.getFrame2Path());
-                if (frames[1] == null) {
-                    System.out.println("  ✗ No se encontró: " + type.getFrame2Path());
-                    frames[1] = createSimplePlaceholder(type.getName() + " 2", getCharacterColor(type).brighter());
-                } else {
-                    System.out.println("  ✓ Frame 2 cargado: " + type.getFrame2Path());
-                }
+        return new CharacterFrames(sprites, null, type.getFrame1Path(), type.getFrame2Path());
+    }
 
-                characterAnimations.put(type, frames);
+    /**
+     * Hoja de sprites: se decodifica una sola imagen, se recorta, se le quita el
+     * fondo y se reduce una vez; los frames se cortan después como sub-imágenes.
+     */
+    private CharacterFrames loadSheetFrames(CharacterInfo type) {
+        String path = type.getSheetPath();
+        try {
+            SpriteSheet sheet = SpriteSheet.load(path);
+            BufferedImage img = loadImageFromAssets(sheet.getImagePath());
+            if (img != null) {
+                img = fitToBudget(sheet.getImagePath(), sheet.prepare(img, AssetSizes.getCharacterFrameSize()));
+                PaletteSprite sprite = PaletteSprite.fromImage(img);
+                resizeImage(sheet.getImagePath(), sprite.getBytes() + sprite.getPixelBytes());
+                System.out.println("  ✓ " + type.getName() + " hoja cargada: " + path + " (" + sheet.getFrameCount() + " frames)");
+                return new CharacterFrames(new PaletteSprite[] {sprite}, sheet, sheet.getImagePath());
+            }
+            System.out.println("  ✗ No se encontró: " + sheet.getImagePath());
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("  ✗ Hoja inválida " + path + ": " + e.getMessage());
+        }
 
-            } catch (Exception e) {
-                System.err.println("  ERROR: " + e.getMessage());
-                // Crear placeholders de emergencia
-                BufferedImage[] placeholderFrames = new BufferedImage[2];
-                placeholderFrames[0] = createSimplePlaceholder(type.getName(), getCharacterColor(type));
-                placeholderFrames[1] = createSimplePlaceholder(type.getName(), getCharacterColor(type).brighter());
-                characterAnimations.put(type, placeholderFrames);
+        missingAssets.incrementAndGet();
+        BufferedImage placeholder = createSimplePlaceholder(type.getName(), type.getColor());
+        return new CharacterFrames(new PaletteSprite[] {PaletteSprite.fromImage(placeholder)}, null);
+    }
+
+    // Guarda los frames en el LRU; si se pasa del tamaño, suelta el menos usado
+    private void cacheCharacter(CharacterInfo type, CharacterFrames frames) {
+        synchronized (characterCache) {
+            characterCache.put(type, frames);
+            Iterator<Map.Entry<CharacterInfo, CharacterFrames>> it = characterCache.entrySet().iterator();
+            while (characterCache.size() > characterCacheSize && it.hasNext()) {
+                Map.Entry<CharacterInfo, CharacterFrames> eldest = it.next();
+                if (eldest.getKey() == type) continue;
+                it.remove();
+                forgetCharacter(eldest.getKey(), eldest.getValue());
             }
         }
     }
 
-    private void loadCommonAssets() {
-        System.out.println("\n--- CARGANDO ASSETS COMUNES ---");
+    private void forgetCharacter(CharacterInfo type, CharacterFrames frames) {
+        characterLoads.remove(type);
+        for (String path : frames.imagePaths) {
+            releaseImage(path);
+        }
+    }
 
-        // Lista de assets comunes
-        String[] assetFiles = {
-                "hongoBoss.png", "arbol.png", "montaña.png", "castillo.png",
-                "corazon.png", "raton.png", "sol.png", "nube.png", "suelo.png"
-        };
+    // Carga de a poco los personajes que se van a mostrar pronto (por ejemplo, los vecinos en la selección)
+    public void prefetchCharacters(CharacterInfo... types) {
+        for (CharacterInfo type : types) {
+            getCharacterAnimationsFuture(type);
+        }
+    }
 
-        for (String filename : assetFiles) {
-            try {
-                BufferedImage img = loadImageFromAssets("/" + filename);
-                if (img != null) {
-                    System.out.println("  ✓ " + filename + " cargado");
-
-                    // Asignar a la variable correspondiente
-                    switch (filename) {
-                        case "hongoBoss.png": mushroom = img; break;
-                        case "arbol.png": tree = img; break;
-                        case "montaña.png": mountain = img; break;
-                        case "castillo.png": castle = img; break;
-                        case "corazon.png": heart = img; break;
-                        case "raton.png": boss = img; break;
-                        case "sol.png": sun = img; break;
-                        case "nube.png": cloud = img; break;
-                        case "suelo.png": ground = img; break;
+    // Después de elegir personaje, el resto no hace falta en memoria
+    public void releaseCharactersExcept(CharacterInfo keep) {
+        synchronized (characterCache) {
+            Iterator<Map.Entry<CharacterInfo, CharacterFrames>> it = characterCache.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<CharacterInfo, CharacterFrames> entry = it.next();
+                if (entry.getKey() == keep) continue;
+                for (PaletteSprite sprite : entry.getValue().allSprites()) {
+                    for (BufferedImage skin : sprite.getSkinImages()) {
+                        spriteCache.removeSource(skin);
                     }
-                } else {
+                }
+                it.remove();
+                forgetCharacter(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private List<CompletableFuture<?>> loadCommonAssets() {
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (String filename : COMMON_ASSETS) {
+            CompletableFuture<BufferedImage> future = loadAsync("/" + filename)
+                    .whenComplete((img, error) -> loadedAssets.incrementAndGet());
+            commonFutures.put(filename, future);
+            futures.add(future.thenAccept(img -> {
+                if (img == null) {
+                    missingAssets.incrementAndGet();
                     System.out.println("  ✗ " + filename + " NO encontrado");
+                    return;
                 }
-            } catch (Exception e) {
-                System.err.println("  ERROR cargando " + filename + ": " + e.getMessage());
+                System.out.println("  ✓ " + filename + " cargado");
+
+                // Asignar a la variable correspondiente
+                switch (filename) {
+                    case "hongoBoss.png": mushroom = img; enemyAnimations = SpriteAnimations.single(img); break;
+                    case "arbol.png": tree = img; break;
+                    case "montaña.png": mountain = img; break;
+                    case "castillo.png": castle = img; break;
+                    case "corazon.png": heart = img; break;
+                    case "raton.png": boss = img; bossAnimations = SpriteAnimations.single(img); break;
+                    case "sol.png": sun = img; break;
+                    case "nube.png": cloud = img; break;
+                    case "suelo.png": ground = img; break;
+                }
+            }).whenComplete((ignored, error) -> notifyListeners()));
+        }
+        return futures;
+    }
+
+    // Cada imagen se decodifica en un hilo del loader; los errores quedan como null
+    private CompletableFuture<BufferedImage> loadAsync(String filename) {
+        return CompletableFuture.supplyAsync(() -> {
+            BufferedImage img = loadImageFromAssets(filename);
+            if (img != null) {
+                img = fitToBudget(filename, AssetSizes.fitToDrawSize(filename, img));
+            }
+            return img;
+        }, loader);
+    }
+
+    /**
+     * Reserva la memoria de la imagen dentro del presupuesto. Si no entra,
+     * se reduce a la mitad hasta que entre (con aviso en consola).
+     */
+    private BufferedImage fitToBudget(String filename, BufferedImage img) {
+        while (true) {
+            long bytes = bytesOf(img);
+            long used = decodedBytes.get();
+            if (used + bytes <= memoryBudgetBytes || (img.getWidth() == 1 && img.getHeight() == 1)) {
+                if (!decodedBytes.compareAndSet(used, used + bytes)) continue;
+                decodedImages.put(filename, new ImageInfo(img.getWidth(), img.getHeight(), bytes));
+                return img;
             }
+
+            System.err.println("  ! " + filename + " no entra en el presupuesto de imágenes, se reduce");
+            img = AssetSizes.downscale(img, Math.max(1, img.getWidth() / 2), Math.max(1, img.getHeight() / 2));
+        }
+    }
+
+    // La imagen se guardó en otro formato: se corrige lo que ocupa
+    private void resizeImage(String filename, long bytes) {
+        ImageInfo old = decodedImages.get(filename);
+        if (old != null) {
+            decodedImages.put(filename, new ImageInfo(old.width, old.height, bytes));
+            decodedBytes.addAndGet(bytes - old.bytes);
+        }
+    }
+
+    private void releaseImage(String filename) {
+        ImageInfo info = decodedImages.remove(filename);
+        if (info != null) {
+            decodedBytes.addAndGet(-info.bytes);
+        }
+    }
+
+    // Bytes reales del raster (depende del tipo de imagen que devolvió ImageIO)
+    static long bytesOf(BufferedImage img) {
+        DataBuffer buffer = img.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    // Detalle de memoria: cada imagen, el total y el SpriteCache
+    public String getMemoryReport() {
+        StringBuilder report = new StringBuilder("--- MEMORIA DE IMÁGENES ---\n");
+        List<String> names = new ArrayList<>(decodedImages.keySet());
+        Collections.sort(names);
+        for (String name : names) {
+            ImageInfo info = decodedImages.get(name);
+            report.append(String.format("  %-36s %4dx%-4d %8.1f KB%n", name, info.width, info.height, info.bytes / 1024.0));
+        }
+        report.append(String.format("  Total: %.1f KB de %.1f KB%n", decodedBytes.get() / 1024.0, memoryBudgetBytes / 1024.0));
+        report.append(String.format("  SpriteCache: %.1f KB de %.1f KB (%d sprites)%n",
+                spriteCache.getUsedBytes() / 1024.0, spriteCache.getBudgetBytes() / 1024.0, spriteCache.size()));
+        return report.toString();
+    }
+
+    public long getDecodedBytes() { return decodedBytes.get(); }
+    public long getMemoryBudgetBytes() { return memoryBudgetBytes; }
+
+    private void notifyListeners() {
+        for (Runnable listener : loadListeners) {
+            listener.run();
         }
     }
 
     private BufferedImage loadImageFromAssets(String filename) {
         try {
-            // Primero intentar desde el directorio 'assets' en la raíz del proyecto
-            File file = new File("assets" + filename);
-            if (file.exists()) {
-                return ImageIO.read(file);
+            AssetSource source = findSource(filename);
+            if (source == null) {
+                System.err.println("Error cargando " + filename + ": no existe");
+                return null;
             }
 
-            // Intentar desde src/assets
-            file = new File("src/assets" + filename);
-            if (file.exists()) {
-                return ImageIO.read(file);
+            // Si el pack tiene la imagen (y el PNG no cambió) no hace falta decodificar
+            if (pack != null) {
+                BufferedImage packed = pack.getImage(filename, source.size, source.modified);
+                if (packed != null) {
+                    return packed;
+                }
             }
 
-            // Intentar desde el classpath
-            return ImageIO.read(getClass().getResourceAsStream(filename));
+            return ImageIO.read(source.url);
 
         } catch (IOException e) {
             System.err.println("Error IO cargando " + filename + ": " + e.getMessage());
@@ -120,14 +386,132 @@ public class GameAssets {
         }
     }
 
-    private Color getCharacterColor(CharacterType type) {
-        switch (type) {
-            case MARIO: return Color.RED;
-            case PEPPA: return Color.PINK;
-            case HOMERO: return Color.YELLOW;
-            case JOHN_WICK: return Color.BLACK;
-            case EMPANADA: return new Color(139, 69, 19);
-            default: return Color.BLUE;
+    // Busca el PNG: primero 'assets' en la raíz del proyecto, después src/assets y por último el classpath
+    static AssetSource findSource(String filename) throws IOException {
+        File file = new File("assets" + filename);
+        if (!file.exists()) {
+            file = new File("src/assets" + filename);
+        }
+        if (file.exists()) {
+            return new AssetSource(file.toURI().toURL(), file.length(), file.lastModified());
+        }
+
+        URL url = GameAssets.class.getResource(filename);
+        if (url == null) return null;
+        if ("file".equals(url.getProtocol())) {
+            try {
+                file = new File(url.toURI());
+                return new AssetSource(url, file.length(), file.lastModified());
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+
+        // Dentro de un jar: tamaño y fecha de la entrada
+        URLConnection connection = url.openConnection();
+        AssetSource source = new AssetSource(url, connection.getContentLengthLong(), connection.getLastModified());
+        connection.getInputStream().close();
+        return source;
+    }
+
+    // Nombres de todas las imágenes que carga el juego (los usa también AssetPacker)
+    public static List<String> getAssetNames() {
+        List<String> names = new ArrayList<>();
+        for (String filename : COMMON_ASSETS) {
+            names.add("/" + filename);
+        }
+        for (CharacterInfo type : CharacterRegistry.getDefault().getAll()) {
+            if (!type.hasSheet()) {
+                names.add(type.getFrame1Path());
+                names.add(type.getFrame2Path());
+                continue;
+            }
+            // De las hojas se guarda la imagen completa (se recorta al cargarla)
+            try {
+                String image = SpriteSheet.load(type.getSheetPath()).getImagePath();
+                if (!names.contains(image)) {
+                    names.add(image);
+                }
+            } catch (IOException e) {
+                System.err.println("Hoja " + type.getSheetPath() + ": " + e.getMessage());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Imágenes indexadas de un personaje (los PNG sueltos o la hoja entera)
+     * y las animaciones ya armadas para cada skin usada. Con hoja, cada skin
+     * se corta de su propia imagen, que comparte los píxeles con las demás.
+     * Las copias espejadas se arman una vez acá y no al dibujar.
+     */
+    private static final class CharacterFrames {
+        final PaletteSprite[] sprites;
+        final PaletteSprite[] mirroredSprites;
+        final SpriteSheet sheet;
+        // Imágenes cuya memoria se descuenta al soltar el personaje
+        final String[] imagePaths;
+        final EnumMap<SkinType, SpriteAnimations> bySkin = new EnumMap<>(SkinType.class);
+
+        CharacterFrames(PaletteSprite[] sprites, SpriteSheet sheet, String... imagePaths) {
+            this.sprites = sprites;
+            this.sheet = sheet;
+            this.imagePaths = imagePaths;
+            mirroredSprites = new PaletteSprite[sprites.length];
+            for (int i = 0; i < sprites.length; i++) {
+                mirroredSprites[i] = sprites[i].mirrored();
+            }
+        }
+
+        List<PaletteSprite> allSprites() {
+            List<PaletteSprite> all = new ArrayList<>(Arrays.asList(sprites));
+            all.addAll(Arrays.asList(mirroredSprites));
+            return all;
+        }
+
+        synchronized SpriteAnimations get(SkinType skin) {
+            SpriteAnimations animations = bySkin.get(skin);
+            if (animations == null) {
+                animations = build(sprites, skin, false);
+                animations.setMirrored(build(mirroredSprites, skin, true));
+                bySkin.put(skin, animations);
+            }
+            return animations;
+        }
+
+        private SpriteAnimations build(PaletteSprite[] source, SkinType skin, boolean mirrored) {
+            if (sheet != null) {
+                return sheet.slice(source[0].getImage(skin), mirrored);
+            }
+            BufferedImage[] frames = new BufferedImage[source.length];
+            for (int i = 0; i < source.length; i++) {
+                frames[i] = source[i].getImage(skin);
+            }
+            return SpriteAnimations.fromFrames(frames);
+        }
+    }
+
+    private static final class ImageInfo {
+        final int width, height;
+        final long bytes;
+
+        ImageInfo(int width, int height, long bytes) {
+            this.width = width;
+            this.height = height;
+            this.bytes = bytes;
+        }
+    }
+
+    // PNG original de un asset: dónde está, tamaño y fecha de modificación
+    static final class AssetSource {
+        final URL url;
+        final long size;
+        final long modified;
+
+        AssetSource(URL url, long size, long modified) {
+            this.url = url;
+            this.size = size;
+            this.modified = modified;
         }
     }
 
@@ -155,30 +539,67 @@ public class GameAssets {
         return img;
     }
 
-    public BufferedImage[] getCharacterFrames(CharacterType type) {
-        BufferedImage[] frames = characterAnimations.get(type);
-        if (frames == null || frames.length < 2) {
-            // Crear frames de emergencia
-            frames = new BufferedImage[] {
-                    createSimplePlaceholder(type.getName(), getCharacterColor(type)),
-                    createSimplePlaceholder(type.getName(), getCharacterColor(type).brighter())
-            };
-            characterAnimations.put(type, frames);
+    // Placeholders de colores con el nombre, mientras el personaje se está cargando
+    public SpriteAnimations getPlaceholderAnimations(CharacterInfo type) {
+        return placeholders.computeIfAbsent(type, t -> SpriteAnimations.fromFramesMirrored(new BufferedImage[] {
+                createSimplePlaceholder(t.getName(), t.getColor()),
+                createSimplePlaceholder(t.getName(), t.getColor().brighter())
+        }));
+    }
+
+    // Animaciones del personaje; si no están cargadas, empieza la carga y devuelve los placeholders
+    public SpriteAnimations getCharacterAnimations(CharacterInfo type) {
+        return getCharacterAnimations(type, SkinType.ORIGINAL);
+    }
+
+    public SpriteAnimations getCharacterAnimations(CharacterInfo type, SkinType skin) {
+        SpriteAnimations animations = peekCharacterAnimations(type, skin);
+        if (animations != null) {
+            return animations;
         }
-        return frames;
+        getCharacterAnimationsFuture(type);
+        return getPlaceholderAnimations(type);
+    }
+
+    // Animaciones ya cargadas, o null (no empieza ninguna carga)
+    public SpriteAnimations peekCharacterAnimations(CharacterInfo type) {
+        return peekCharacterAnimations(type, SkinType.ORIGINAL);
     }
 
-    public BufferedImage getCharacterTitleImage(CharacterType type) {
-        // Para el menú, usar el primer frame más grande
-        BufferedImage[] frames = getCharacterFrames(type);
-        if (frames[0] != null) {
-            // Escalar a 200x200 para el menú
-            BufferedImage scaled = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2d = scaled.createGraphics();
-            g2d.drawImage(frames[0], 0, 0, 200, 200, null);
-            g2d.dispose();
-            return scaled;
+    public SpriteAnimations peekCharacterAnimations(CharacterInfo type, SkinType skin) {
+        synchronized (characterCache) {
+            CharacterFrames frames = characterCache.get(type);
+            return frames != null ? frames.get(skin) : null;
         }
-        return createSimplePlaceholder(type.getName(), getCharacterColor(type));
     }
-}
\ No newline at end of file
+
+    public int getCharacterCacheSize() { return characterCacheSize; }
+
+    public SpriteAnimations getEnemyAnimations() { return enemyAnimations; }
+    public SpriteAnimations getBossAnimations() { return bossAnimations; }
+
+    // Devuelve la imagen ya escalada a width x height, lista para dibujar 1:1
+    public BufferedImage getSprite(BufferedImage source, int width, int height) {
+        return spriteCache.get(source, width, height);
+    }
+
+    public SpriteCache getSpriteCache() { return spriteCache; }
+
+    public CompletableFuture<BufferedImage> getImageFuture(String filename) { return commonFutures.get(filename); }
+
+    // Se llama desde los hilos de carga cada vez que termina un asset
+    public void addLoadListener(Runnable listener) { loadListeners.add(listener); }
+
+    public boolean isLoaded() { return allLoaded.isDone(); }
+    public int getLoadedCount() { return loadedAssets.get(); }
+    public int getTotalCount() { return totalAssets; }
+    // Comunes y de personajes; getLoadedCount cuenta también las que fallaron
+    public int getMissingCount() { return missingAssets.get(); }
+    public float getLoadProgress() { return loadedAssets.get() / (float) totalAssets; }
+
+    // Bloquea hasta que terminen los assets comunes (benchmarks y herramientas sin ventana)
+    public GameAssets awaitLoaded() {
+        allLoaded.join();
+        return this;
+    }
+}
@@ -0,0 +1,389 @@
+package Clases;
+
+import java.awt.Rectangle;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * Simulación del juego sin dependencias de Swing ni de dibujo.
+ * Cada llamada a step() avanza un tick; se puede ejecutar tan rápido
+ * como dé la CPU (pruebas de carga, benchmarks, avance rápido).
+ */
+public class GameWorld {
+    private static final long SPAWN_INTERVAL_NANOS = 500_000_000L;
+    private static final long WAVE_INTERVAL_NANOS = 10_000_000_000L;
+    private static final int MESSAGE_TICKS = 120;
+
+    // Ancho por defecto y "sin fin" (-Dmario.worldWidth=0); en la práctica no se llega al final
+    public static final int DEFAULT_WORLD_WIDTH = 5000;
+    public static final int ENDLESS_WORLD_WIDTH = 1_000_000_000;
+    // Zona activa alrededor del jugador: ahí aparecen, se mueven y chocan las entidades.
+    // Si el mundo entra entero en ella (el de 5000 px), la zona es todo el mundo
+    private static final int ACTIVE_RANGE = 2600;
+
+    private final int groundY;
+    private final int worldHeight;
+    private final int worldWidth;
+    private final boolean wholeWorldActive;
+    private final int spawnIntervalTicks;
+    private final int waveIntervalTicks;
+    private final Random rand;
+
+    private Player player;
+    // Enemigos, balas y jefes, guardados por columnas (ver EntityStore)
+    private final EntityStore entities = new EntityStore();
+    // Vista del jefe actual (null si no hay) y el tramo en el que patrulla
+    private Boss boss;
+    private int bossMinX, bossMaxX;
+    private static final int BOSS_HEALTH = 10;
+    // Tope de enemigos vivos: las oleadas siguen creciendo, pero no el trabajo por tick
+    private static final int MAX_ENEMIES = 300;
+    private final Environment environment;
+    // Broadphase de colisiones (cubre la zona activa más un margen y sigue al jugador)
+    private final SpatialGrid grid;
+    private static final int GRID_CELL_SIZE = 128;
+
+    private int score;
+    private int lives;
+    private int enemyWaveCount;
+    private String waveMessage = "";
+    private int waveMessageTimer;
+    private boolean gameOver;
+
+    private long tick;
+    // Reloj de todas las animaciones de la partida
+    private final AnimationClock animationClock = new AnimationClock();
+    private int spawnCounter;
+    private int waveCounter;
+
+    public GameWorld(int groundY, int worldHeight, int worldWidth, long tickNanos, long seed) {
+        this(groundY, worldHeight, worldWidth, null, tickNanos, seed);
+    }
+
+    // Partida en un nivel armado a mano (el ancho del mundo es el del nivel)
+    public GameWorld(int groundY, int worldHeight, LevelFile level, long tickNanos, long seed) {
+        this(groundY, worldHeight, level.getWorldWidth(), level, tickNanos, seed);
+    }
+
+    private GameWorld(int groundY, int worldHeight, int worldWidth, LevelFile level, long tickNanos, long seed) {
+        this.groundY = groundY;
+        this.worldHeight = worldHeight;
+        this.worldWidth = worldWidth;
+        this.wholeWorldActive = worldWidth <= 2 * ACTIVE_RANGE;
+        // Los antiguos Timer de Swing (500 ms y 10 s) pasan a contarse en ticks
+        this.spawnIntervalTicks = (int) Math.max(1, Math.round(SPAWN_INTERVAL_NANOS / (double) tickNanos));
+        this.waveIntervalTicks = (int) Math.max(1, Math.round(WAVE_INTERVAL_NANOS / (double) tickNanos));
+        this.rand = new Random(seed);
+        this.environment = level != null
+                ? new Environment(groundY, level, rand.nextLong())
+                : new Environment(groundY, worldWidth, rand.nextLong());
+        this.grid = new SpatialGrid(-200, -200, 2 * ACTIVE_RANGE + 400, worldHeight + 400, GRID_CELL_SIZE);
+    }
+
+    // Ancho del mundo configurado con -Dmario.worldWidth (0 o negativo: sin fin)
+    public static int getConfiguredWorldWidth() {
+        int width = Integer.getInteger("mario.worldWidth", DEFAULT_WORLD_WIDTH);
+        return width > 0 ? width : ENDLESS_WORLD_WIDTH;
+    }
+
+    // Nivel de -Dmario.level (ver LevelConverter); null si no se indicó o no se pudo abrir
+    public static LevelFile openConfiguredLevel() {
+        String path = System.getProperty("mario.level");
+        if (path == null) return null;
+
+        LevelFile level = LevelFile.open(Paths.get(path));
+        if (level == null) {
+            System.err.println("No se pudo abrir el nivel " + path + "; se genera uno al azar");
+        }
+        return level;
+    }
+
+    public void startNewGame(CharacterInfo character) {
+        animationClock.reset();
+        player = new Player(60, groundY, worldWidth, character, animationClock);
+        environment.streamAround(player.getRect().x);
+
+        entities.clear();
+        boss = null;
+
+        score = 0;
+        lives = 3;
+        enemyWaveCount = 1;
+        gameOver = false;
+        tick = 0;
+        spawnCounter = 0;
+        waveCounter = 0;
+
+        showMessage("¡COMIENZA LA AVENTURA!");
+    }
+
+    // Avanza la simulación un tick
+    public void step(InputFrame input) {
+        if (player == null || gameOver) return;
+        tick++;
+        animationClock.advance();
+
+        // Toda la entrada del tick se aplica antes de la física
+        if (input.isLeft()) {
+            player.moveLeft();
+        } else if (input.isRight()) {
+            player.moveRight();
+        } else {
+            player.stop();
+        }
+        if (input.isJump()) {
+            player.jump();
+        }
+        if (input.isShoot()) {
+            shoot();
+        }
+
+        // Cargar los chunks cercanos y actualizar jugador con plataformas para colisiones
+        environment.streamAround(player.getRect().x);
+        player.update(environment.getPlatformIndex());
+        Rectangle playerRect = player.getRect();
+
+        // Actualizar enemigos
+        updateEnemies();
+
+        // Actualizar balas
+        updateBullets();
+
+        // Actualizar boss
+        if (boss != null && boss.isAlive()) {
+            updateBoss();
+        }
+
+        // Actualizar nubes del entorno
+        environment.updateClouds();
+
+        // Actualizar mensaje de oleada
+        if (waveMessageTimer > 0) {
+            waveMessageTimer--;
+        }
+
+        // Verificar si el boss fue derrotado
+        if (boss != null && !boss.isAlive()) {
+            score += 1000;
+            entities.getBosses().clear();
+            boss = null;
+            showMessage("¡BOSS DERROTADO! +1000 PUNTOS");
+        }
+
+        // Verificar si el jugador cayó al vacío
+        if (playerRect.y > worldHeight + 100) {
+            lives = 0;
+            gameOver = true;
+        }
+
+        // Aparición de enemigos y oleadas
+        if (++spawnCounter >= spawnIntervalTicks) {
+            spawnCounter = 0;
+            spawnEnemy();
+        }
+        if (++waveCounter >= waveIntervalTicks) {
+            waveCounter = 0;
+            advanceWave();
+        }
+    }
+
+    private void updateEnemies() {
+        Archetype enemies = entities.getEnemies();
+        EntityStore.move(enemies);
+        EntityStore.bounceVertical(enemies, 50, groundY);
+        // Eliminar enemigos que salieron de la zona activa
+        EntityStore.expireOutside(enemies, getActiveMinX() - 100, getActiveMaxX() + 100);
+
+        // Grilla con los enemigos vivos y los jefes (id = enemies.size() + fila del jefe)
+        grid.moveTo(getActiveMinX() - 200, -200);
+        grid.clear();
+        for (int i = 0; i < enemies.size; i++) {
+            if (!enemies.isRemoved(i)) {
+                grid.insert(i, enemies.x[i], enemies.y[i], enemies.width[i], enemies.height[i]);
+            }
+        }
+        Archetype bosses = entities.getBosses();
+        for (int i = 0; i < bosses.size; i++) {
+            if (bosses.health[i] > 0) {
+                grid.insert(enemies.size + i, bosses.x[i], bosses.y[i], bosses.width[i], bosses.height[i]);
+            }
+        }
+
+        // Verificar colisión con el jugador (solo enemigos cercanos)
+        Rectangle playerRect = player.getRect();
+        int candidates = grid.query(playerRect);
+        for (int c = 0; c < candidates; c++) {
+            int id = grid.getResult(c);
+            if (id >= enemies.size) continue; // el boss se revisa aparte
+            if (enemies.isRemoved(id)
+                    || !enemies.intersects(id, playerRect.x, playerRect.y, playerRect.width, playerRect.height)) continue;
+
+            if (player.takeDamage()) {
+                lives--;
+                playerRect.x -= 50;
+                if (lives <= 0) {
+                    gameOver = true;
+                }
+            }
+            enemies.markRemoved(id);
+            score += 10;
+        }
+    }
+
+    // Usa la grilla armada en updateEnemies (posiciones de este tick)
+    private void updateBullets() {
+        Archetype enemies = entities.getEnemies();
+        Archetype bullets = entities.getBullets();
+        Archetype bosses = entities.getBosses();
+        int bossBase = enemies.size;
+
+        EntityStore.move(bullets);
+        for (int b = 0; b < bullets.size; b++) {
+            int x = bullets.x[b], y = bullets.y[b], width = bullets.width[b], height = bullets.height[b];
+
+            // Entre los candidatos cercanos, el primero de la lista es el que recibe la bala
+            int hitEnemy = -1;
+            int hitBoss = -1;
+            int candidates = grid.query(x, y, width, height);
+            for (int c = 0; c < candidates; c++) {
+                int id = grid.getResult(c);
+                if (id >= bossBase) {
+                    int row = id - bossBase;
+                    if (bosses.health[row] > 0 && bosses.intersects(row, x, y, width, height)) {
+                        hitBoss = row;
+                    }
+                } else if ((hitEnemy == -1 || id < hitEnemy) && !enemies.isRemoved(id)
+                        && enemies.intersects(id, x, y, width, height)) {
+                    hitEnemy = id;
+                }
+            }
+
+            // Verificar colisión con enemigos
+            if (hitEnemy != -1) {
+                bullets.markRemoved(b);
+                enemies.markRemoved(hitEnemy);
+                score += 10;
+            }
+
+            // Verificar colisión con el boss
+            if (hitBoss != -1) {
+                bullets.markRemoved(b);
+                bosses.health[hitBoss]--;
+                score += 100;
+            }
+        }
+
+        // Eliminar balas fuera de la zona activa
+        EntityStore.expireOutside(bullets, getActiveMinX() - 50, getActiveMaxX() + 50);
+
+        // Quitar los marcados (la última fila ocupa el lugar de cada baja)
+        enemies.compact();
+        bullets.compact();
+    }
+
+    // El boss patrulla su tramo; si toca al jugador, lo empuja hacia atrás
+    private void updateBoss() {
+        Archetype bosses = entities.getBosses();
+        EntityStore.move(bosses);
+        EntityStore.bounceHorizontal(bosses, bossMinX, bossMaxX);
+
+        Rectangle playerRect = player.getRect();
+        for (int i = 0; i < bosses.size; i++) {
+            if (bosses.intersects(i, playerRect.x, playerRect.y, playerRect.width, playerRect.height)
+                    && player.takeDamage()) {
+                lives--;
+                playerRect.x -= 100;
+                if (lives <= 0) {
+                    gameOver = true;
+                }
+            }
+        }
+    }
+
+    private void shoot() {
+        int direction = player.isFacingRight() ? 1 : -1;
+        Rectangle rect = player.getRect();
+        int x = direction > 0 ? rect.x + rect.width : rect.x;
+        int y = rect.y + rect.height / 2 - 5;
+
+        addBullet(x, y, direction);
+    }
+
+    private void spawnEnemy() {
+        for (int i = 0; i < enemyWaveCount && entities.getEnemies().size() < MAX_ENEMIES; i++) {
+            int y = 50 + rand.nextInt(groundY - 200);
+            boolean fromRight = rand.nextBoolean();
+            int x = fromRight ? getActiveMaxX() : getActiveMinX() - 80;
+            int speed = fromRight ? -3 : 3;
+            addEnemy(x, y, speed, 2 + rand.nextInt(3));
+        }
+    }
+
+    // Agregan entidades en una posición dada (escenarios de carga y benchmarks)
+    public void addEnemy(int x, int y, int speedX, int speedY) {
+        Archetype enemies = entities.getEnemies();
+        int row = enemies.add(x, y, 80, 80, speedX, speedY);
+        enemies.setAnimationStart(row, animationClock.getTicks());
+    }
+
+    public void addBullet(int x, int y, int direction) {
+        entities.getBullets().add(x, y, Bullet.WIDTH, Bullet.HEIGHT, Bullet.SPEED * direction, 0);
+    }
+
+    private void advanceWave() {
+        enemyWaveCount++;
+        showMessage("¡OLEADA " + enemyWaveCount + "!");
+
+        if (enemyWaveCount % 3 == 0) {
+            spawnBoss();
+        }
+    }
+
+    // Bordes de la zona activa (dentro del mundo)
+    private int getActiveMinX() {
+        if (wholeWorldActive) return 0;
+        return Math.max(0, player.getRect().x - ACTIVE_RANGE);
+    }
+
+    private int getActiveMaxX() {
+        if (wholeWorldActive) return worldWidth;
+        return Math.min(worldWidth, player.getRect().x + ACTIVE_RANGE);
+    }
+
+    // El boss aparece en el medio de la zona activa y patrulla dentro de ella
+    // (en el mundo de 5000 px, en el centro del mundo y de punta a punta)
+    private void spawnBoss() {
+        bossMinX = getActiveMinX();
+        bossMaxX = getActiveMaxX();
+
+        // Si quedaba uno, el nuevo lo reemplaza
+        Archetype bosses = entities.getBosses();
+        bosses.clear();
+        int row = bosses.add((bossMinX + bossMaxX) / 2 - 100, Boss.GROUND_Y - 200, 200, 200, 2, 0);
+        bosses.health[row] = BOSS_HEALTH;
+        bosses.setAnimationStart(row, animationClock.getTicks());
+        boss = entities.getBoss(row);
+        showMessage("¡BOSS HA APARECIDO!");
+    }
+
+    private void showMessage(String message) {
+        waveMessage = message;
+        waveMessageTimer = MESSAGE_TICKS;
+    }
+
+    public Player getPlayer() { return player; }
+    public EntityStore getEntities() { return entities; }
+    public int getEnemyCount() { return entities.getEnemies().size(); }
+    public int getBulletCount() { return entities.getBullets().size(); }
+    public Boss getBoss() { return boss; }
+    public Environment getEnvironment() { return environment; }
+    public int getScore() { return score; }
+    public int getLives() { return lives; }
+    public int getEnemyWaveCount() { return enemyWaveCount; }
+    public String getWaveMessage() { return waveMessage; }
+    public int getWaveMessageTimer() { return waveMessageTimer; }
+    public boolean isGameOver() { return gameOver; }
+    public long getTick() { return tick; }
+    public AnimationClock getAnimationClock() { return animationClock; }
+    public int getWorldWidth() { return worldWidth; }
+}
@@ -0,0 +1,49 @@
+package Clases;
+
+import java.util.Random;
+
+/**
+ * Ejecuta la simulación sin ventana, lo más rápido posible, con entrada aleatoria.
+ * Uso: java -Djava.awt.headless=true Clases.HeadlessSoak [ticks] [semilla]
+ * (el nivel se toma de -Dmario.level o -Dmario.worldWidth, como en el juego)
+ */
+public class HeadlessSoak {
+    public static void main(String[] args) {
+        long ticks = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+
+        LevelFile level = GameWorld.openConfiguredLevel();
+        GameWorld world = level != null
+                ? new GameWorld(718, 768, level, 16_000_000L, seed)
+                : new GameWorld(718, 768, GameWorld.getConfiguredWorldWidth(), 16_000_000L, seed);
+        InputFrame input = new InputFrame();
+        Random inputRand = new Random(seed);
+        world.startNewGame(CharacterRegistry.getDefault().getDefaultCharacter());
+
+        int games = 1;
+        long start = System.nanoTime();
+        for (long i = 0; i < ticks; i++) {
+            // Cambiar de dirección de vez en cuando, saltar y disparar seguido
+            if (inputRand.nextInt(30) == 0) {
+                boolean left = inputRand.nextBoolean();
+                input.setLeft(left);
+                input.setRight(!left);
+            }
+            input.setJump(inputRand.nextInt(40) == 0);
+            input.setShoot(inputRand.nextInt(4) == 0);
+
+            world.step(input);
+            input.clearPresses();
+
+            if (world.isGameOver()) {
+                world.startNewGame(CharacterRegistry.getDefault().getDefaultCharacter());
+                games++;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d ticks en %.2f s (%.0f ticks/s), %d partidas, oleada %d, enemigos %d, chunks generados %d%n",
+                ticks, seconds, ticks / seconds, games, world.getEnemyWaveCount(), world.getEnemyCount(),
+                world.getEnvironment().getGeneratedChunks());
+    }
+}
@@ -0,0 +1,48 @@
+package Clases;
+
+/**
+ * Entrada del jugador para un tick de simulación.
+ * Izquierda/derecha son estados (tecla apretada); salto y disparo son
+ * pulsaciones que se consumen en el tick.
+ */
+public class InputFrame {
+    // Acciones (las usa InputQueue para guardar los eventos)
+    public static final int LEFT = 0;
+    public static final int RIGHT = 1;
+    public static final int JUMP = 2;
+    public static final int SHOOT = 3;
+
+    private boolean left, right;
+    private boolean jump, shoot;
+
+    // Aplica un evento: izquierda/derecha siguen a la tecla; salto y disparo solo al apretar
+    public void apply(int action, boolean pressed) {
+        switch (action) {
+            case LEFT -> left = pressed;
+            case RIGHT -> right = pressed;
+            case JUMP -> jump |= pressed;
+            case SHOOT -> shoot |= pressed;
+        }
+    }
+
+    public void setLeft(boolean left) { this.left = left; }
+    public void setRight(boolean right) { this.right = right; }
+    public void setJump(boolean jump) { this.jump = jump; }
+    public void setShoot(boolean shoot) { this.shoot = shoot; }
+
+    public boolean isLeft() { return left; }
+    public boolean isRight() { return right; }
+    public boolean isJump() { return jump; }
+    public boolean isShoot() { return shoot; }
+
+    // Las pulsaciones solo valen para un tick
+    public void clearPresses() {
+        jump = false;
+        shoot = false;
+    }
+
+    public void clear() {
+        left = right = false;
+        clearPresses();
+    }
+}
@@ -0,0 +1,116 @@
+package Clases;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cola de eventos de entrada entre el hilo de Swing (que los escribe al
+ * apretar y soltar teclas) y el hilo de la simulación (que los lee al
+ * empezar cada tick). Es un buffer circular de un productor y un consumidor,
+ * sin locks: cada lado solo avanza su propio índice.
+ *
+ * Cada evento lleva la hora (System.nanoTime) en que llegó, para medir
+ * cuánto tarda desde la tecla hasta que la simulación lo aplica.
+ */
+public class InputQueue {
+    private final int mask;
+    private final int[] actions;
+    private final boolean[] pressed;
+    private final long[] times;
+
+    // Próximo a escribir (productor) y próximo a leer (consumidor)
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long dropped;
+    // Sigue cada evento aplicado hasta que se ve en pantalla (opcional)
+    private LatencyProbe probe;
+
+    // Latencia tecla -> tick (solo la toca el consumidor)
+    private long appliedCount;
+    private long latencySum;
+    private long latencyMax;
+    private long lastLatency;
+
+    // capacity se redondea a potencia de 2
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask = size - 1;
+        actions = new int[size];
+        pressed = new boolean[size];
+        times = new long[size];
+    }
+
+    /**
+     * Agrega un evento (hilo productor). Si la cola está llena se descarta
+     * y devuelve false; con un tick cada 16 ms no debería pasar.
+     */
+    public boolean offer(int action, boolean isPressed, long nanoTime) {
+        long h = head.get();
+        if (h - tail.get() > mask) {
+            dropped++;
+            return false;
+        }
+        int i = (int) h & mask;
+        actions[i] = action;
+        pressed[i] = isPressed;
+        times[i] = nanoTime;
+        // lazySet publica los datos del evento antes que el nuevo índice
+        head.lazySet(h + 1);
+        return true;
+    }
+
+    /**
+     * Aplica al frame todos los eventos pendientes (hilo consumidor), en el
+     * orden en que llegaron. Devuelve cuántos aplicó.
+     */
+    public int drainTo(InputFrame frame, long now) {
+        return drain(frame, now, true);
+    }
+
+    // Igual, sin contar la latencia (fuera de la partida, donde nadie espera el tick)
+    public int drainTo(InputFrame frame) {
+        return drain(frame, 0, false);
+    }
+
+    private int drain(InputFrame frame, long now, boolean measure) {
+        long t = tail.get();
+        long h = head.get();
+        for (long n = t; n < h; n++) {
+            int i = (int) n & mask;
+            frame.apply(actions[i], pressed[i]);
+            if (!measure) continue;
+
+            long latency = now - times[i];
+            appliedCount++;
+            latencySum += latency;
+            latencyMax = Math.max(latencyMax, latency);
+            lastLatency = latency;
+            if (probe != null) {
+                probe.markApplied(times[i]);
+            }
+        }
+        tail.lazySet(h);
+        return (int) (h - t);
+    }
+
+    public void setProbe(LatencyProbe probe) {
+        this.probe = probe;
+    }
+
+    public void resetStats() {
+        appliedCount = latencySum = latencyMax = lastLatency = 0;
+    }
+
+    public int size() { return (int) (head.get() - tail.get()); }
+    public int capacity() { return mask + 1; }
+    public long getDropped() { return dropped; }
+    public long getAppliedCount() { return appliedCount; }
+    public long getLastLatencyNanos() { return lastLatency; }
+    public long getMaxLatencyNanos() { return latencyMax; }
+    public long getAverageLatencyNanos() { return appliedCount > 0 ? latencySum / appliedCount : 0; }
+
+    @Override
+    public String toString() {
+        return String.format("%d eventos, tecla->tick media %.2f ms, máx %.2f ms, descartados %d",
+                appliedCount, getAverageLatencyNanos() / 1e6, latencyMax / 1e6, dropped);
+    }
+}
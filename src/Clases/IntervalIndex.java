@@ -0,0 +1,72 @@
+package Clases;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Índice de rectángulos ordenados por x para consultar rápido
+ * qué objetos se solapan con un rango horizontal (por ejemplo, la cámara).
+ */
+public class IntervalIndex {
+    private final ArrayList<Rectangle> items = new ArrayList<>();
+    private int maxWidth;
+
+    public void add(Rectangle rect) {
+        items.add(rect);
+        maxWidth = Math.max(maxWidth, rect.width);
+        // Insertar manteniendo el orden por x
+        int i = items.size() - 1;
+        while (i > 0 && items.get(i - 1).x > rect.x) {
+            items.set(i, items.get(i - 1));
+            i--;
+        }
+        items.set(i, rect);
+    }
+
+    public void clear() {
+        items.clear();
+        maxWidth = 0;
+    }
+
+    // Reordenar después de mover los objetos (casi ordenado -> inserción es O(n))
+    public void resort() {
+        for (int i = 1; i < items.size(); i++) {
+            Rectangle current = items.get(i);
+            int j = i - 1;
+            while (j >= 0 && items.get(j).x > current.x) {
+                items.set(j + 1, items.get(j));
+                j--;
+            }
+            items.set(j + 1, current);
+        }
+    }
+
+    // Agrega a 'out' los rectángulos que se solapan con [minX, maxX)
+    public void query(int minX, int maxX, List<Rectangle> out) {
+        int i = firstIndexAtOrAfter(minX - maxWidth);
+        for (; i < items.size(); i++) {
+            Rectangle r = items.get(i);
+            if (r.x >= maxX) break;
+            if (r.x + r.width > minX) {
+                out.add(r);
+            }
+        }
+    }
+
+    private int firstIndexAtOrAfter(int x) {
+        int lo = 0, hi = items.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (items.get(mid).x < x) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    public ArrayList<Rectangle> getItems() { return items; }
+    public int size() { return items.size(); }
+}
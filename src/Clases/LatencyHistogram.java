@@ -0,0 +1,99 @@
+package Clases;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Histograma de duraciones (en nanosegundos) con buckets logarítmicos: cada
+ * potencia de 2 se parte en 8 tramos iguales, así que el error de un
+ * percentil es de a lo sumo 12,5% y la memoria es fija (512 contadores),
+ * sin importar cuántas muestras se registren.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = 64 << SUB_BITS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long max;
+
+    public synchronized void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[indexOf(nanos)]++;
+        count++;
+        sum += nanos;
+        max = Math.max(max, nanos);
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        count = sum = max = 0;
+    }
+
+    // Los valores chicos tienen un bucket cada uno; después, 8 por potencia de 2
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        return ((shift + 1) << SUB_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = (index >> SUB_BITS) - 1;
+        return (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        return lowerBound(index) + (1L << ((index >> SUB_BITS) - 1)) - 1;
+    }
+
+    /**
+     * Valor por debajo del cual queda la fracción p (0..1) de las muestras:
+     * el borde superior de su bucket, sin pasar del máximo registrado.
+     */
+    public synchronized long getPercentile(double p) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    public synchronized long getCount() { return count; }
+    public synchronized long getMax() { return max; }
+    public synchronized long getMean() { return count > 0 ? sum / count : 0; }
+
+    // Un bucket por línea (solo los que tienen muestras), en microsegundos
+    public synchronized void writeCsv(Writer writer) throws IOException {
+        PrintWriter out = new PrintWriter(writer);
+        out.println("desde_us,hasta_us,cantidad");
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] == 0) continue;
+            out.printf(Locale.ROOT, "%.3f,%.3f,%d%n",
+                    lowerBound(i) / 1e3, upperBound(i) / 1e3, counts[i]);
+        }
+        out.flush();
+        if (out.checkError()) {
+            throw new IOException("no se pudo escribir el histograma");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d p50 %.1f ms | p95 %.1f ms | p99 %.1f ms | máx %.1f ms",
+                getCount(), getPercentile(0.50) / 1e6, getPercentile(0.95) / 1e6,
+                getPercentile(0.99) / 1e6, getMax() / 1e6);
+    }
+}
@@ -0,0 +1,32 @@
+package Clases;
+
+import java.util.Arrays;
+
+/**
+ * Mide cuánto tarda una tecla en verse en pantalla. InputQueue avisa con
+ * markApplied la hora de cada evento que aplicó un tick; cuando el frame
+ * siguiente termina de mostrarse (paintComponent o el flip del render activo),
+ * markPresented registra la diferencia en el histograma.
+ */
+public class LatencyProbe {
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    // Horas de los eventos ya aplicados que todavía no llegaron a pantalla
+    private long[] pending = new long[64];
+    private int pendingCount;
+
+    public synchronized void markApplied(long eventNanos) {
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, pendingCount * 2);
+        }
+        pending[pendingCount++] = eventNanos;
+    }
+
+    public synchronized void markPresented(long nowNanos) {
+        for (int i = 0; i < pendingCount; i++) {
+            histogram.record(nowNanos - pending[i]);
+        }
+        pendingCount = 0;
+    }
+
+    public LatencyHistogram getHistogram() { return histogram; }
+}
@@ -0,0 +1,156 @@
+package Clases;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Herramienta offline: pasa un nivel escrito a mano a un LevelFile.
+ *
+ * Uso (desde la raíz del proyecto):
+ *   java -cp <clases compiladas> Clases.LevelConverter nivel.txt [nivel.level]
+ *
+ * El texto tiene una instrucción por línea (altura = distancia del suelo al
+ * borde de arriba del objeto; los tamaños entre corchetes son opcionales):
+ *
+ *   width 12000                     ancho del mundo (obligatorio, antes de los objetos)
+ *   chunk 1800                      ancho de chunk (opcional)
+ *   tree 300 [altura ancho alto]    árbol, por defecto 280x290 apoyado en el suelo
+ *   mountain 900 [altura ancho alto]
+ *   castle 2000 [altura ancho alto]
+ *   platform 300 290 280 [alto]     plataforma en x, altura y ancho; por defecto 20 de alto
+ *
+ * Lo que sigue a un # es un comentario (en una línea propia o al final de una
+ * instrucción); las líneas vacías se ignoran.
+ */
+public class LevelConverter {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Uso: LevelConverter nivel.txt [nivel.level]");
+            return;
+        }
+        Path input = Paths.get(args[0]);
+        Path output = Paths.get(args.length > 1 ? args[1] : args[0].replaceFirst("\\.txt$", "") + ".level");
+
+        Level level = parse(input);
+        LevelFile.write(output, level.worldWidth, level.chunkWidth, level.objects);
+        System.out.println("Nivel escrito en " + output + " (" + level.objects.size() + " objetos, "
+                + level.worldWidth + " px, " + Files.size(output) + " bytes)");
+    }
+
+    private static Level parse(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parse(reader, path.toString());
+        }
+    }
+
+    // 'name' solo se usa en los mensajes de error
+    static Level parse(BufferedReader reader, String name) throws IOException {
+        Level level = new Level();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            line = line.trim();
+            if (line.isEmpty()) continue;
+
+            try {
+                level.parse(line.split("\\s+"));
+            } catch (IllegalArgumentException e) {
+                throw new IOException(name + ":" + lineNumber + ": " + e.getMessage());
+            }
+        }
+        if (level.worldWidth <= 0) {
+            throw new IOException(name + ": falta 'width'");
+        }
+        return level;
+    }
+
+    static final class Level {
+        int worldWidth;
+        int chunkWidth = Environment.CHUNK_WIDTH;
+        final List<LevelFile.LevelObject> objects = new ArrayList<>();
+
+        void parse(String[] parts) {
+            switch (parts[0]) {
+                case "width":
+                    expect(parts, 2, 2);
+                    worldWidth = parseInt(parts[1]);
+                    break;
+                case "chunk":
+                    expect(parts, 2, 2);
+                    chunkWidth = parseInt(parts[1]);
+                    if (chunkWidth <= 0) {
+                        throw new IllegalArgumentException("ancho de chunk inválido: " + parts[1]);
+                    }
+                    break;
+                case "tree":
+                    addObject(parts, LevelFile.TREE, 290, 280, 290);
+                    break;
+                case "mountain":
+                    addObject(parts, LevelFile.MOUNTAIN, 270, 480, 300);
+                    break;
+                case "castle":
+                    addObject(parts, LevelFile.CASTLE, 430, 600, 500);
+                    break;
+                case "platform":
+                    expect(parts, 4, 5);
+                    add(LevelFile.PLATFORM, parseInt(parts[1]), parseInt(parts[2]), parseInt(parts[3]),
+                            parts.length > 4 ? parseInt(parts[4]) : 20);
+                    break;
+                default:
+                    throw new IllegalArgumentException("instrucción desconocida: " + parts[0]);
+            }
+        }
+
+        // x y, opcionalmente, altura ancho alto (si no, los del escenario generado)
+        private void addObject(String[] parts, int kind, int top, int width, int height) {
+            if (parts.length != 2 && parts.length != 5) {
+                throw new IllegalArgumentException("'" + parts[0] + "' lleva x o x altura ancho alto");
+            }
+            if (parts.length == 5) {
+                top = parseInt(parts[2]);
+                width = parseInt(parts[3]);
+                height = parseInt(parts[4]);
+            }
+            add(kind, parseInt(parts[1]), top, width, height);
+        }
+
+        private void add(int kind, int x, int top, int width, int height) {
+            if (worldWidth <= 0) {
+                throw new IllegalArgumentException("'width' tiene que ir antes de los objetos");
+            }
+            if (x < 0 || x >= worldWidth) {
+                throw new IllegalArgumentException("x fuera del mundo: " + x);
+            }
+            if (width > chunkWidth) {
+                throw new IllegalArgumentException("más ancho que un chunk (" + chunkWidth + ")");
+            }
+            objects.add(new LevelFile.LevelObject(kind, x, top, width, height));
+        }
+    }
+
+    private static void expect(String[] parts, int min, int max) {
+        if (parts.length < min || parts.length > max) {
+            throw new IllegalArgumentException("cantidad de valores inválida para '" + parts[0] + "'");
+        }
+    }
+
+    private static int parseInt(String text) {
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("número inválido: " + text);
+        }
+    }
+}
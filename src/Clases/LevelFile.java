@@ -0,0 +1,216 @@
+package Clases;
+
+import java.awt.Rectangle;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Nivel armado a mano, en binario (lo genera LevelConverter a partir de un texto).
+ *
+ * Formato (little endian):
+ *   int magia "MLVL", int versión, int ancho del mundo, int ancho de chunk, int cantidad de chunks
+ *   índice: por chunk, long offset de sus datos
+ *   por chunk: short cantidad de cada tipo (árboles, montañas, castillos, plataformas)
+ *              y por tipo, en orden de x: int x[n], short altura[n], short ancho[n], short alto[n]
+ *   (altura = distancia del suelo al borde de arriba; así el nivel no depende del tamaño de ventana)
+ *
+ * Se abre con un mapeo de memoria. Al abrir se revisa el índice (cada chunk tiene
+ * que empezar donde termina el anterior y el último, donde termina el archivo),
+ * así un archivo cortado o dañado se rechaza en open y no a mitad de partida.
+ * Los objetos se leen recién cuando Environment pide cada chunk.
+ */
+public class LevelFile {
+    public static final int MAGIC = 0x4C564C4D; // "MLVL"
+    public static final int VERSION = 1;
+
+    public static final int TREE = 0;
+    public static final int MOUNTAIN = 1;
+    public static final int CASTLE = 2;
+    public static final int PLATFORM = 3;
+    public static final int KINDS = 4;
+
+    private static final int HEADER_SIZE = 20;
+
+    private final MappedByteBuffer data;
+    private final int worldWidth;
+    private final int chunkWidth;
+    private final int chunkCount;
+
+    private LevelFile(MappedByteBuffer data) {
+        this.data = data;
+        data.order(ByteOrder.LITTLE_ENDIAN);
+        if (data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IllegalStateException("formato o versión desconocidos");
+        }
+        worldWidth = data.getInt(8);
+        chunkWidth = data.getInt(12);
+        chunkCount = data.getInt(16);
+        if (worldWidth <= 0 || chunkWidth <= 0
+                || chunkCount != (int) ((worldWidth + (long) chunkWidth - 1) / chunkWidth)
+                || HEADER_SIZE + 8L * chunkCount > data.capacity()) {
+            throw new IllegalStateException("cabecera inválida");
+        }
+        checkIndex();
+    }
+
+    // Recorre el índice y las cantidades de cada chunk contra el tamaño del archivo
+    private void checkIndex() {
+        long expected = HEADER_SIZE + 8L * chunkCount;
+        for (int i = 0; i < chunkCount; i++) {
+            long offset = data.getLong(HEADER_SIZE + 8 * i);
+            if (offset != expected || offset + 2 * KINDS > data.capacity()) {
+                throw new IllegalStateException("índice inválido en el chunk " + i);
+            }
+            expected = offset + 2 * KINDS;
+            for (int kind = 0; kind < KINDS; kind++) {
+                expected += 10L * (data.getShort((int) offset + 2 * kind) & 0xFFFF);
+            }
+        }
+        if (expected != data.capacity()) {
+            throw new IllegalStateException("el archivo mide " + data.capacity() + " bytes y el índice pide " + expected);
+        }
+    }
+
+    // Devuelve null si el archivo no existe o no tiene el formato esperado
+    public static LevelFile open(Path path) {
+        if (!Files.isRegularFile(path)) return null;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new LevelFile(data);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Nivel inválido (" + path + "): " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Agrega a 'out' (una lista por tipo) los objetos del chunk, ya en
+     * coordenadas de pantalla para un suelo en groundY.
+     */
+    public void readChunk(int index, int groundY, List<List<Rectangle>> out) {
+        if (index < 0 || index >= chunkCount) return;
+
+        int pos = (int) data.getLong(HEADER_SIZE + 8 * index);
+        int[] counts = new int[KINDS];
+        for (int kind = 0; kind < KINDS; kind++) {
+            counts[kind] = data.getShort(pos) & 0xFFFF;
+            pos += 2;
+        }
+        for (int kind = 0; kind < KINDS; kind++) {
+            int n = counts[kind];
+            int xs = pos, tops = xs + 4 * n, widths = tops + 2 * n, heights = widths + 2 * n;
+            List<Rectangle> list = out.get(kind);
+            for (int i = 0; i < n; i++) {
+                list.add(new Rectangle(data.getInt(xs + 4 * i), groundY - data.getShort(tops + 2 * i),
+                        data.getShort(widths + 2 * i), data.getShort(heights + 2 * i)));
+            }
+            pos = heights + 2 * n;
+        }
+    }
+
+    public int getWorldWidth() { return worldWidth; }
+    public int getChunkWidth() { return chunkWidth; }
+    public int getChunkCount() { return chunkCount; }
+
+    /**
+     * Escribe un nivel. Cada objeto va al chunk donde empieza; por eso ninguno
+     * puede ser más ancho que un chunk (si no, podría verse sin estar cargado).
+     */
+    public static void write(Path path, int worldWidth, int chunkWidth, List<LevelObject> objects) throws IOException {
+        int chunkCount = (int) ((worldWidth + (long) chunkWidth - 1) / chunkWidth);
+
+        // Repartir por chunk y tipo, ordenados por x
+        List<List<List<LevelObject>>> chunks = new ArrayList<>(chunkCount);
+        for (int c = 0; c < chunkCount; c++) {
+            List<List<LevelObject>> kinds = new ArrayList<>(KINDS);
+            for (int kind = 0; kind < KINDS; kind++) {
+                kinds.add(new ArrayList<>());
+            }
+            chunks.add(kinds);
+        }
+        for (LevelObject object : objects) {
+            if (object.x < 0 || object.x >= worldWidth) {
+                throw new IllegalArgumentException("objeto fuera del mundo en x=" + object.x);
+            }
+            if (object.width > chunkWidth) {
+                throw new IllegalArgumentException("objeto más ancho que un chunk en x=" + object.x);
+            }
+            chunks.get(object.x / chunkWidth).get(object.kind).add(object);
+        }
+
+        long offset = HEADER_SIZE + 8L * chunkCount;
+        try (OutputStream file = Files.newOutputStream(path);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            ByteBuffer header = ByteBuffer.allocate((int) offset).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(worldWidth).putInt(chunkWidth).putInt(chunkCount);
+            for (List<List<LevelObject>> kinds : chunks) {
+                header.putLong(offset);
+                offset += 2 * KINDS;
+                for (List<LevelObject> list : kinds) {
+                    if (list.size() > 0xFFFF) {
+                        throw new IOException("demasiados objetos de un tipo en un chunk");
+                    }
+                    offset += 10L * list.size();
+                }
+            }
+            if (offset > Integer.MAX_VALUE) {
+                throw new IOException("el nivel no entra en un mapeo de memoria (más de 2 GB)");
+            }
+            out.write(header.array());
+
+            for (List<List<LevelObject>> kinds : chunks) {
+                int size = 2 * KINDS;
+                for (List<LevelObject> list : kinds) {
+                    list.sort(Comparator.comparingInt(o -> o.x));
+                    size += 10 * list.size();
+                }
+                ByteBuffer block = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+                for (List<LevelObject> list : kinds) {
+                    block.putShort((short) list.size());
+                }
+                for (List<LevelObject> list : kinds) {
+                    for (LevelObject o : list) block.putInt(o.x);
+                    for (LevelObject o : list) block.putShort(o.top);
+                    for (LevelObject o : list) block.putShort(o.width);
+                    for (LevelObject o : list) block.putShort(o.height);
+                }
+                out.write(block.array());
+            }
+        }
+    }
+
+    // Objeto a guardar: tipo (TREE, MOUNTAIN...), x y su caja respecto del suelo
+    public static final class LevelObject {
+        private final int kind;
+        private final int x;
+        private final short top, width, height;
+
+        public LevelObject(int kind, int x, int top, int width, int height) {
+            if (kind < 0 || kind >= KINDS) {
+                throw new IllegalArgumentException("tipo inválido: " + kind);
+            }
+            if (width <= 0 || height <= 0 || width > Short.MAX_VALUE || height > Short.MAX_VALUE
+                    || top < Short.MIN_VALUE || top > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("tamaño inválido en x=" + x);
+            }
+            this.kind = kind;
+            this.x = x;
+            this.top = (short) top;
+            this.width = (short) width;
+            this.height = (short) height;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package Clases;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Pool simple de objetos reutilizables (balas, enemigos).
+ * obtain() devuelve uno libre o crea uno nuevo; free() lo devuelve al pool.
+ * Quien lo obtiene es responsable de reiniciarlo.
+ */
+public class ObjectPool<T> {
+    private final Supplier<T> factory;
+    private final int maxFree;
+    private Object[] free;
+    private int freeCount;
+
+    public ObjectPool(Supplier<T> factory, int initialSize, int maxFree) {
+        this.factory = factory;
+        this.maxFree = maxFree;
+        this.free = new Object[Math.max(16, initialSize)];
+        for (int i = 0; i < initialSize; i++) {
+            free[freeCount++] = factory.get();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T obtain() {
+        if (freeCount == 0) {
+            return factory.get();
+        }
+        T obj = (T) free[--freeCount];
+        free[freeCount] = null;
+        return obj;
+    }
+
+    public void free(T obj) {
+        if (freeCount == maxFree) return; // el resto lo recolecta el GC
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, Math.min(maxFree, free.length * 2));
+        }
+        free[freeCount++] = obj;
+    }
+
+    public int getFreeCount() { return freeCount; }
+}
@@ -0,0 +1,120 @@
+package Clases;
+
+import Enums.SkinType;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Sprite guardado como índices a una paleta (IndexColorModel).
+ * Los píxeles se guardan una sola vez; cada skin es la misma imagen con otra
+ * paleta, así que una variante de color solo ocupa lo que ocupa su paleta.
+ * Si la imagen tiene hasta 256 colores usa 1 byte por píxel, si no 2 (sin pérdida),
+ * y con más de 65536 colores fromImage lanza IllegalArgumentException.
+ *
+ * Ojo: con 2 bytes por píxel, el frame más su copia espejada ocupan lo mismo que
+ * el ARGB original (4 bytes por píxel). El ahorro está en las skins y en los
+ * frames de pocos colores, no en el frame base.
+ */
+public class PaletteSprite {
+    private final WritableRaster indices;
+    private final int[] palette;
+    private final int bits;
+    private final EnumMap<SkinType, BufferedImage> skins = new EnumMap<>(SkinType.class);
+
+    private PaletteSprite(WritableRaster indices, int[] palette, int bits) {
+        this.indices = indices;
+        this.palette = palette;
+        this.bits = bits;
+    }
+
+    public static PaletteSprite fromImage(BufferedImage img) {
+        int width = img.getWidth();
+        int height = img.getHeight();
+        int[] argb = img.getRGB(0, 0, width, height, null, 0, width);
+
+        // Un índice por cada color distinto
+        HashMap<Integer, Integer> colorIndex = new HashMap<>();
+        int[] pixels = new int[argb.length];
+        for (int i = 0; i < argb.length; i++) {
+            Integer index = colorIndex.get(argb[i]);
+            if (index == null) {
+                index = colorIndex.size();
+                colorIndex.put(argb[i], index);
+            }
+            pixels[i] = index;
+        }
+        if (colorIndex.size() > 65536) {
+            throw new IllegalArgumentException("demasiados colores para una paleta: " + colorIndex.size());
+        }
+
+        int[] palette = new int[colorIndex.size()];
+        colorIndex.forEach((color, index) -> palette[index] = color);
+
+        int bits = palette.length <= 256 ? 8 : 16;
+        WritableRaster raster = createModel(bits, palette).createCompatibleWritableRaster(width, height);
+        raster.setPixels(0, 0, width, height, pixels);
+        return new PaletteSprite(raster, palette, bits);
+    }
+
+    private static IndexColorModel createModel(int bits, int[] palette) {
+        int transferType = bits == 8 ? DataBuffer.TYPE_BYTE : DataBuffer.TYPE_USHORT;
+        return new IndexColorModel(bits, palette.length, palette, 0, true, -1, transferType);
+    }
+
+    /**
+     * Copia espejada (mirando para el otro lado) con la misma paleta.
+     * Se arma una vez al cargar; sus skins también comparten píxeles entre sí.
+     */
+    public PaletteSprite mirrored() {
+        int width = indices.getWidth();
+        int height = indices.getHeight();
+        WritableRaster flipped = indices.createCompatibleWritableRaster(width, height);
+        int[] row = new int[width];
+        int[] reversed = new int[width];
+        for (int y = 0; y < height; y++) {
+            indices.getPixels(0, y, width, 1, row);
+            for (int x = 0; x < width; x++) {
+                reversed[width - 1 - x] = row[x];
+            }
+            flipped.setPixels(0, y, width, 1, reversed);
+        }
+        return new PaletteSprite(flipped, palette, bits);
+    }
+
+    // La imagen con la paleta de la skin (se arma una vez; comparte los píxeles)
+    public synchronized BufferedImage getImage(SkinType skin) {
+        BufferedImage img = skins.get(skin);
+        if (img == null) {
+            int[] skinPalette = new int[palette.length];
+            for (int i = 0; i < palette.length; i++) {
+                skinPalette[i] = skin.apply(palette[i]);
+            }
+            img = new BufferedImage(createModel(bits, skinPalette), indices, false, null);
+            skins.put(skin, img);
+        }
+        return img;
+    }
+
+    // Todas las variantes ya armadas (para sacarlas del SpriteCache)
+    public synchronized List<BufferedImage> getSkinImages() {
+        return new ArrayList<>(skins.values());
+    }
+
+    public int getColorCount() { return palette.length; }
+
+    // Píxeles más paleta base (cada skin suma solo su paleta)
+    public long getBytes() {
+        return getPixelBytes() + palette.length * 4L;
+    }
+
+    // Solo los índices (lo que suma la copia espejada, que comparte la paleta)
+    public long getPixelBytes() {
+        return (long) indices.getWidth() * indices.getHeight() * (bits / 8);
+    }
+}
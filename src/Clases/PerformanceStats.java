@@ -0,0 +1,121 @@
+package Clases;
+
+import Enums.FramePhase;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tiempos de cada parte del frame (un LatencyHistogram por fase, memoria fija),
+ * la duración de los últimos frames para el gráfico y el estado del heap y del GC.
+ * FRAME es el intervalo entre un frame y el siguiente: ahí se ven los tirones.
+ */
+public class PerformanceStats {
+    public static final int GRAPH_FRAMES = 240;
+
+    private final EnumMap<FramePhase, LatencyHistogram> phases = new EnumMap<>(FramePhase.class);
+    // Otros histogramas que van en el CSV (por ejemplo, tecla -> pantalla)
+    private final Map<String, LatencyHistogram> extra = new LinkedHashMap<>();
+
+    // Últimas duraciones de frame, en un buffer circular
+    private final long[] frameTimes = new long[GRAPH_FRAMES];
+    private int nextFrame;
+    private long lastFrameStart;
+
+    // Heap y GC (se leen cada tanto: los beans crean objetos en cada consulta)
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private long heapUsed, heapMax;
+    private long gcCount, gcMillis;
+
+    public PerformanceStats() {
+        for (FramePhase phase : FramePhase.values()) {
+            phases.put(phase, new LatencyHistogram());
+        }
+        sampleMemory();
+    }
+
+    public void record(FramePhase phase, long nanos) {
+        phases.get(phase).record(nanos);
+    }
+
+    // Al empezar a dibujar: registra cuánto pasó desde el frame anterior
+    public synchronized void frameStarted(long now) {
+        if (lastFrameStart != 0) {
+            long frameNanos = now - lastFrameStart;
+            frameTimes[nextFrame] = frameNanos;
+            nextFrame = (nextFrame + 1) % GRAPH_FRAMES;
+            phases.get(FramePhase.FRAME).record(frameNanos);
+        }
+        lastFrameStart = now;
+    }
+
+    // El próximo frame no mide el intervalo (fuera de la partida o después de una pausa)
+    public synchronized void pauseFrameClock() {
+        lastFrameStart = 0;
+    }
+
+    // Duración del frame de hace 'ago' frames (0 = el último); 0 si todavía no hay
+    public synchronized long getFrameTime(int ago) {
+        return frameTimes[Math.floorMod(nextFrame - 1 - ago, GRAPH_FRAMES)];
+    }
+
+    public void sampleMemory() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long count = 0, millis = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        synchronized (this) {
+            heapUsed = heap.getUsed();
+            heapMax = heap.getMax();
+            gcCount = count;
+            gcMillis = millis;
+        }
+    }
+
+    public void track(String name, LatencyHistogram histogram) {
+        extra.put(name, histogram);
+    }
+
+    public LatencyHistogram get(FramePhase phase) { return phases.get(phase); }
+    public synchronized long getHeapUsed() { return heapUsed; }
+    public synchronized long getHeapMax() { return heapMax; }
+    public synchronized long getGcCount() { return gcCount; }
+    public synchronized long getGcMillis() { return gcMillis; }
+
+    // Una fila por fase (y por histograma extra), tiempos en ms; al final el heap y el GC
+    public void writeCsv(Writer writer) throws IOException {
+        sampleMemory();
+        PrintWriter out = new PrintWriter(writer);
+        out.println("fase,muestras,media_ms,p50_ms,p95_ms,p99_ms,max_ms");
+        for (Map.Entry<FramePhase, LatencyHistogram> entry : phases.entrySet()) {
+            writeRow(out, entry.getKey().name(), entry.getValue());
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : extra.entrySet()) {
+            writeRow(out, entry.getKey(), entry.getValue());
+        }
+        out.println();
+        out.println("heap_usado_mb,heap_max_mb,gc_cantidad,gc_ms");
+        out.printf(Locale.ROOT, "%.1f,%.1f,%d,%d%n", getHeapUsed() / 1048576.0, getHeapMax() / 1048576.0,
+                getGcCount(), getGcMillis());
+        out.flush();
+        if (out.checkError()) {
+            throw new IOException("no se pudieron escribir las estadísticas");
+        }
+    }
+
+    private static void writeRow(PrintWriter out, String name, LatencyHistogram h) {
+        out.printf(Locale.ROOT, "%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f%n", name, h.getCount(),
+                h.getMean() / 1e6, h.getPercentile(0.50) / 1e6, h.getPercentile(0.95) / 1e6,
+                h.getPercentile(0.99) / 1e6, h.getMax() / 1e6);
+    }
+}
@@ -1,13 +1,16 @@
 package Clases;
 
-import Enums.CharacterType;
+import Enums.AnimationType;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
 import java.util.List;
 
 public class Player {
     private Rectangle rect;
     private int vx, vy;
+    // Posición del tick anterior (para interpolar al dibujar)
+    private int prevX, prevY;
     private boolean onGround;
     private boolean facingRight;
     private boolean jumped, doubleJumped;
@@ -15,40 +18,61 @@ public class Player {
     private final int JUMP_VELOCITY = -20;
     private final int GRAVITY = 1;
     private final int GROUND_Y;
+    private final int WORLD_WIDTH;
+    // Plataformas cercanas del tick actual (se reutiliza para no crear listas)
+    private final ArrayList<Rectangle> nearbyPlatforms = new ArrayList<>();
 
-    // Variables para animación
+    // Variables para animación (el frame sale del reloj compartido)
     private boolean isMoving;
-    private int animationFrame;
-    private final int ANIMATION_DELAY = 10;
-    private int animationCounter;
-    private boolean wasMovingLastFrame;
-    private CharacterType currentCharacter;
-    private BufferedImage[] currentFrames;
+    private final AnimationClock clock;
+    private AnimationType animation;
+    private long animationStart;
+    private CharacterInfo currentCharacter;
+    private SpriteAnimations animations;
 
     // Variables para invencibilidad
     private boolean isInvulnerable;
     private int invulnerabilityTimer;
     private final int INVULNERABILITY_TIME = 90; // ~1.5 segundos a 60 FPS
 
-    public Player(int x, int groundY, CharacterType character) {
+    public Player(int x, int groundY, int worldWidth, CharacterInfo character, AnimationClock clock) {
         this.GROUND_Y = groundY;
+        this.WORLD_WIDTH = worldWidth;
         rect = new Rectangle(x, groundY - 130, 100, 120);
+        prevX = rect.x;
+        prevY = rect.y;
         vx = vy = 0;
         onGround = true;
         facingRight = true;
         isMoving = false;
-        animationFrame = 0;
-        animationCounter = 0;
-        wasMovingLastFrame = false;
+        this.clock = clock;
+        animation = AnimationType.IDLE;
+        animationStart = clock.getTicks();
         this.currentCharacter = character;
         this.isInvulnerable = false;
         this.invulnerabilityTimer = 0;
     }
 
+    /**
+     * Avanza un tick revisando solo las plataformas que se solapan en x con el
+     * recorrido del jugador en este tick (de la posición anterior a la nueva).
+     * Da lo mismo que revisarlas todas, pero el costo no crece con el nivel.
+     */
+    public void update(IntervalIndex platforms) {
+        int minX = Math.min(rect.x, rect.x + vx);
+        int maxX = Math.max(rect.x, rect.x + vx) + rect.width;
+        nearbyPlatforms.clear();
+        platforms.query(minX, maxX, nearbyPlatforms);
+        update(nearbyPlatforms);
+    }
+
+    // Avanza un tick revisando todas las plataformas de la lista
     public void update(List<Rectangle> platforms) {
         // Guardar posición anterior para detección de colisiones
         int oldX = rect.x;
         int oldY = rect.y;
+        prevX = oldX;
+        prevY = oldY;
 
         // Movimiento horizontal
         rect.x += vx;
@@ -57,25 +81,7 @@ public class Player {
         vy += GRAVITY;
         rect.y += vy;
 
-        boolean currentlyMoving = Math.abs(vx) > 0.1f;
-
-        // Lógica de animación mejorada
-        if (currentlyMoving != wasMovingLastFrame) {
-            animationFrame = 0;
-            animationCounter = 0;
-        }
-        isMoving = currentlyMoving;
-        wasMovingLastFrame = currentlyMoving;
-
-        if (isMoving) {
-            animationCounter++;
-            if (animationCounter >= ANIMATION_DELAY) {
-                animationCounter = 0;
-                animationFrame = (animationFrame + 1) % 2;
-            }
-        } else {
-            animationFrame = 0;
-        }
+        isMoving = Math.abs(vx) > 0.1f;
 
         // Actualizar invencibilidad
         if (isInvulnerable) {
@@ -95,7 +101,8 @@ public class Player {
         }
 
         // Verificar colisión con plataformas (árboles y castillos)
-        for (Rectangle platform : platforms) {
+        for (int i = 0; i < platforms.size(); i++) {
+            Rectangle platform = platforms.get(i);
             if (rect.intersects(platform)) {
                 // Si está cayendo y la parte superior del jugador está por encima de la plataforma
                 if (oldY + rect.height <= platform.y && vy > 0) {
@@ -113,7 +120,30 @@ public class Player {
 
         // Limitar al jugador dentro del mundo
         if (rect.x < 0) rect.x = 0;
-        if (rect.x > 5000 - rect.width) rect.x = 5000 - rect.width;
+        if (rect.x > WORLD_WIDTH - rect.width) rect.x = WORLD_WIDTH - rect.width;
+
+        updateAnimation();
+    }
+
+    // Elige la animación según el estado; al cambiar, arranca desde su primer frame
+    private void updateAnimation() {
+        AnimationType next;
+        if (isInvulnerable && hasAnimation(AnimationType.HURT)) {
+            next = AnimationType.HURT;
+        } else if (!onGround && hasAnimation(AnimationType.JUMP)) {
+            next = AnimationType.JUMP;
+        } else {
+            next = isMoving ? AnimationType.WALK : AnimationType.IDLE;
+        }
+
+        if (next != animation) {
+            animation = next;
+            animationStart = clock.getTicks();
+        }
+    }
+
+    private boolean hasAnimation(AnimationType type) {
+        return animations != null && animations.has(type);
     }
 
     public void moveLeft() {
@@ -153,19 +183,20 @@ public class Player {
 
     // Getters
     public Rectangle getRect() { return rect; }
+    public int getRenderX(float alpha) { return FixedTimestep.lerp(prevX, rect.x, alpha); }
+    public int getRenderY(float alpha) { return FixedTimestep.lerp(prevY, rect.y, alpha); }
     public boolean isFacingRight() { return facingRight; }
     public void setFacingRight(boolean facingRight) { this.facingRight = facingRight; }
     public boolean isMoving() { return isMoving; }
-    public int getAnimationFrame() { return animationFrame; }
-    public int getAnimationDelay() { return ANIMATION_DELAY; }
-    public CharacterType getCurrentCharacter() { return currentCharacter; }
+    public AnimationType getAnimation() { return animation; }
+    public CharacterInfo getCurrentCharacter() { return currentCharacter; }
 
     // Getters para invencibilidad
     public boolean isInvulnerable() { return isInvulnerable; }
     public int getInvulnerabilityTimer() { return invulnerabilityTimer; }
 
     public BufferedImage getCurrentFrame() {
-        if (currentFrames == null || currentFrames.length < 2) {
+        if (animations == null) {
             return null;
         }
 
@@ -175,15 +206,12 @@ public class Player {
             return null;
         }
 
-        if (isMoving) {
-            return currentFrames[animationFrame];
-        } else {
-            return currentFrames[0];
-        }
+        // Ya viene espejado si mira a la izquierda
+        return animations.getFrame(animation, clock.getTicks() - animationStart, facingRight);
     }
 
-    public void setCharacterFrames(BufferedImage[] frames) {
-        this.currentFrames = frames;
+    public void setAnimations(SpriteAnimations animations) {
+        this.animations = animations;
     }
 
     public boolean isOnGround() { return onGround; }
@@ -0,0 +1,113 @@
+package Clases;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+
+/**
+ * Registro de objetos de dibujo inmutables y compartidos (fuentes, colores, trazos).
+ * Se crean la primera vez que se piden y después se reutilizan, para no generar
+ * basura en cada frame del EDT.
+ */
+public final class RenderResources {
+    private static final String FONT_NAME = "Arial";
+    private static final int MAX_FONT_SIZE = 128;
+    private static final int MAX_STROKE_WIDTH = 16;
+
+    public static final AlphaComposite HALF_TRANSPARENT = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f);
+    public static final AlphaComposite OPAQUE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f);
+
+    private static final Font[][] fonts = new Font[4][MAX_FONT_SIZE + 1];
+    private static final BasicStroke[] strokes = new BasicStroke[MAX_STROKE_WIDTH + 1];
+
+    // Tabla hash de ARGB -> Color con direccionamiento abierto (sin boxing)
+    private static int[] colorKeys = new int[256];
+    private static Color[] colorValues = new Color[256];
+    private static int colorCount;
+
+    private RenderResources() {}
+
+    public static synchronized Font font(int style, int size) {
+        if (size > MAX_FONT_SIZE) {
+            return new Font(FONT_NAME, style, size);
+        }
+        Font font = fonts[style & 3][size];
+        if (font == null) {
+            font = new Font(FONT_NAME, style, size);
+            fonts[style & 3][size] = font;
+        }
+        return font;
+    }
+
+    public static synchronized BasicStroke stroke(int width) {
+        if (width > MAX_STROKE_WIDTH) {
+            return new BasicStroke(width);
+        }
+        BasicStroke stroke = strokes[width];
+        if (stroke == null) {
+            stroke = new BasicStroke(width);
+            strokes[width] = stroke;
+        }
+        return stroke;
+    }
+
+    public static Color color(int r, int g, int b) {
+        return color(r, g, b, 255);
+    }
+
+    // Igual que new Color: componentes fuera de 0..255 son un error (no se recortan)
+    public static synchronized Color color(int r, int g, int b, int a) {
+        if (((r | g | b | a) & ~0xFF) != 0) {
+            throw new IllegalArgumentException("Componente de color fuera de 0..255: "
+                    + r + ", " + g + ", " + b + ", " + a);
+        }
+        int argb = (a << 24) | (r << 16) | (g << 8) | b;
+        int mask = colorKeys.length - 1;
+        int i = mix(argb) & mask;
+        while (colorValues[i] != null) {
+            if (colorKeys[i] == argb) {
+                return colorValues[i];
+            }
+            i = (i + 1) & mask;
+        }
+
+        Color color = new Color(r, g, b, a);
+        colorKeys[i] = argb;
+        colorValues[i] = color;
+        if (++colorCount * 2 > colorKeys.length) {
+            growColors();
+        }
+        return color;
+    }
+
+    // El mismo color con otra transparencia
+    public static Color withAlpha(Color base, int alpha) {
+        return color(base.getRed(), base.getGreen(), base.getBlue(), Math.max(0, Math.min(255, alpha)));
+    }
+
+    private static void growColors() {
+        int[] oldKeys = colorKeys;
+        Color[] oldValues = colorValues;
+        colorKeys = new int[oldKeys.length * 2];
+        colorValues = new Color[oldValues.length * 2];
+        int mask = colorKeys.length - 1;
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldValues[j] == null) continue;
+            int i = mix(oldKeys[j]) & mask;
+            while (colorValues[i] != null) {
+                i = (i + 1) & mask;
+            }
+            colorKeys[i] = oldKeys[j];
+            colorValues[i] = oldValues[j];
+        }
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Solo para depuración: cantidad de colores registrados
+    public static synchronized int getColorCount() { return colorCount; }
+}
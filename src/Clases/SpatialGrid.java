@@ -0,0 +1,126 @@
+package Clases;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/**
+ * Grilla uniforme para detectar colisiones solo entre objetos cercanos.
+ * Se vacía y se vuelve a llenar en cada tick; guarda índices enteros en
+ * arreglos, así que no crea objetos en el uso normal.
+ */
+public class SpatialGrid {
+    private int minX, minY;
+    private final int cellSize;
+    private final int cols, rows;
+
+    // Listas enlazadas por celda: cellHead -> nodo -> nodeNext ...
+    private final int[] cellHead;
+    private int[] nodeNext = new int[256];
+    private int[] nodeId = new int[256];
+    private int nodeCount;
+
+    // Evita devolver dos veces el mismo id si ocupa varias celdas
+    private int[] seenStamp = new int[256];
+    private int stamp;
+
+    private int[] results = new int[64];
+    private int resultCount;
+
+    public SpatialGrid(int minX, int minY, int width, int height, int cellSize) {
+        this.minX = minX;
+        this.minY = minY;
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (width + cellSize - 1) / cellSize);
+        this.rows = Math.max(1, (height + cellSize - 1) / cellSize);
+        this.cellHead = new int[cols * rows];
+        clear();
+    }
+
+    // Mueve la grilla (por ejemplo, para que siga al jugador); hay que hacerlo antes de insertar
+    public void moveTo(int minX, int minY) {
+        this.minX = minX;
+        this.minY = minY;
+    }
+
+    public void clear() {
+        Arrays.fill(cellHead, -1);
+        nodeCount = 0;
+    }
+
+    // Registra el id en todas las celdas que toca el rectángulo
+    public void insert(int id, Rectangle r) {
+        insert(id, r.x, r.y, r.width, r.height);
+    }
+
+    public void insert(int id, int x, int y, int width, int height) {
+        int c0 = col(x), c1 = col(x + width - 1);
+        int r0 = row(y), r1 = row(y + height - 1);
+        for (int cy = r0; cy <= r1; cy++) {
+            for (int cx = c0; cx <= c1; cx++) {
+                addNode(cy * cols + cx, id);
+            }
+        }
+    }
+
+    /**
+     * Busca los ids registrados en las celdas que toca el rectángulo.
+     * Devuelve la cantidad; los ids se leen con getResult(i). Son candidatos:
+     * hay que confirmar la colisión con intersects().
+     */
+    public int query(Rectangle r) {
+        return query(r.x, r.y, r.width, r.height);
+    }
+
+    public int query(int x, int y, int width, int height) {
+        resultCount = 0;
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(seenStamp, 0);
+            stamp = 1;
+        }
+
+        int c0 = col(x), c1 = col(x + width - 1);
+        int r0 = row(y), r1 = row(y + height - 1);
+        for (int cy = r0; cy <= r1; cy++) {
+            for (int cx = c0; cx <= c1; cx++) {
+                for (int n = cellHead[cy * cols + cx]; n != -1; n = nodeNext[n]) {
+                    int id = nodeId[n];
+                    if (id >= seenStamp.length) {
+                        seenStamp = Arrays.copyOf(seenStamp, Math.max(id + 1, seenStamp.length * 2));
+                    }
+                    if (seenStamp[id] != stamp) {
+                        seenStamp[id] = stamp;
+                        if (resultCount == results.length) {
+                            results = Arrays.copyOf(results, results.length * 2);
+                        }
+                        results[resultCount++] = id;
+                    }
+                }
+            }
+        }
+        return resultCount;
+    }
+
+    public int getResult(int i) { return results[i]; }
+
+    private void addNode(int cell, int id) {
+        if (nodeCount == nodeNext.length) {
+            nodeNext = Arrays.copyOf(nodeNext, nodeCount * 2);
+            nodeId = Arrays.copyOf(nodeId, nodeCount * 2);
+        }
+        nodeId[nodeCount] = id;
+        nodeNext[nodeCount] = cellHead[cell];
+        cellHead[cell] = nodeCount;
+        nodeCount++;
+    }
+
+    // Fuera de la grilla se usa la celda del borde
+    private int col(int x) {
+        int c = Math.floorDiv(x - minX, cellSize);
+        return Math.max(0, Math.min(cols - 1, c));
+    }
+
+    private int row(int y) {
+        int r = Math.floorDiv(y - minY, cellSize);
+        return Math.max(0, Math.min(rows - 1, r));
+    }
+}
@@ -0,0 +1,98 @@
+package Clases;
+
+import Enums.AnimationType;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.EnumMap;
+
+/**
+ * Clips de un sprite (personaje, enemigo o boss) por tipo de animación.
+ * IDLE siempre está; los demás son opcionales y, si faltan, se usa IDLE.
+ * Si tiene versión espejada, mirar a la izquierda no cuesta nada al dibujar.
+ */
+public class SpriteAnimations {
+    // Velocidad de la caminata de los personajes de dos PNG (la de siempre: 10 ticks por frame)
+    public static final int DEFAULT_TICKS_PER_FRAME = 10;
+
+    private final EnumMap<AnimationType, AnimationClip> clips = new EnumMap<>(AnimationType.class);
+    // Los mismos clips con los frames ya espejados (mirando a la izquierda)
+    private SpriteAnimations mirrored;
+
+    public SpriteAnimations(AnimationClip idle) {
+        clips.put(AnimationType.IDLE, idle);
+    }
+
+    public void put(AnimationType type, AnimationClip clip) {
+        clips.put(type, clip);
+    }
+
+    public boolean has(AnimationType type) {
+        return clips.containsKey(type);
+    }
+
+    public AnimationClip get(AnimationType type) {
+        AnimationClip clip = clips.get(type);
+        return clip != null ? clip : clips.get(AnimationType.IDLE);
+    }
+
+    public BufferedImage getFrame(AnimationType type, long elapsedTicks) {
+        return get(type).getFrame(elapsedTicks);
+    }
+
+    // Frame ya orientado: hacia la izquierda se usa la copia espejada armada al cargar
+    public BufferedImage getFrame(AnimationType type, long elapsedTicks, boolean facingRight) {
+        SpriteAnimations source = facingRight || mirrored == null ? this : mirrored;
+        return source.getFrame(type, elapsedTicks);
+    }
+
+    public void setMirrored(SpriteAnimations mirrored) {
+        this.mirrored = mirrored;
+    }
+
+    public boolean hasMirrored() {
+        return mirrored != null;
+    }
+
+    // Frames sueltos (los PNG de cada personaje): quieto en el primero y caminando los recorre todos
+    public static SpriteAnimations fromFrames(BufferedImage[] frames) {
+        SpriteAnimations animations = new SpriteAnimations(
+                new AnimationClip(new BufferedImage[] {frames[0]}, DEFAULT_TICKS_PER_FRAME, true));
+        animations.put(AnimationType.WALK, new AnimationClip(frames, DEFAULT_TICKS_PER_FRAME, true));
+        return animations;
+    }
+
+    // Frames sueltos y su versión espejada (para imágenes que no son PaletteSprite, como los placeholders)
+    public static SpriteAnimations fromFramesMirrored(BufferedImage[] frames) {
+        BufferedImage[] flipped = new BufferedImage[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            flipped[i] = mirror(frames[i]);
+        }
+        SpriteAnimations animations = fromFrames(frames);
+        animations.setMirrored(fromFrames(flipped));
+        return animations;
+    }
+
+    // Copia espejada con el mismo tipo de imagen (sirve para cualquier ColorModel)
+    static BufferedImage mirror(BufferedImage img) {
+        int width = img.getWidth();
+        int height = img.getHeight();
+        ColorModel model = img.getColorModel();
+        Raster source = img.getRaster();
+        WritableRaster flipped = model.createCompatibleWritableRaster(width, height);
+        Object pixel = null;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                pixel = source.getDataElements(x, y, pixel);
+                flipped.setDataElements(width - 1 - x, y, pixel);
+            }
+        }
+        return new BufferedImage(model, flipped, model.isAlphaPremultiplied(), null);
+    }
+
+    // Una sola imagen para todo (enemigos y boss mientras no tengan hoja propia)
+    public static SpriteAnimations single(BufferedImage frame) {
+        return new SpriteAnimations(new AnimationClip(new BufferedImage[] {frame}, DEFAULT_TICKS_PER_FRAME, true));
+    }
+}
@@ -0,0 +1,132 @@
+package Clases;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché de sprites ya escalados al tamaño en que se dibujan.
+ * Cada imagen se escala una sola vez a un formato compatible con la pantalla,
+ * así el render solo hace copias 1:1. Se descartan las menos usadas
+ * cuando se supera el presupuesto de bytes.
+ */
+public class SpriteCache {
+    public static final long DEFAULT_BUDGET_BYTES = 32L * 1024 * 1024;
+
+    private final LinkedHashMap<Key, BufferedImage> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final long budgetBytes;
+    private long usedBytes;
+    private GraphicsConfiguration config;
+
+    // Clave reutilizable para las búsquedas (evita crear objetos en cada dibujo)
+    private final Key lookupKey = new Key();
+
+    public SpriteCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        if (!GraphicsEnvironment.isHeadless()) {
+            config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+        }
+    }
+
+    // Cuando el componente ya está en pantalla se usa su configuración real
+    public void setGraphicsConfiguration(GraphicsConfiguration gc) {
+        if (gc != null && gc != config) {
+            config = gc;
+            clear();
+        }
+    }
+
+    public BufferedImage get(BufferedImage source, int width, int height) {
+        if (source == null || width <= 0 || height <= 0) return null;
+
+        lookupKey.set(source, width, height);
+        BufferedImage cached = entries.get(lookupKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        BufferedImage scaled = scale(source, width, height);
+        Key key = new Key();
+        key.set(source, width, height);
+        entries.put(key, scaled);
+        usedBytes += bytesOf(scaled);
+        evictIfNeeded();
+        return scaled;
+    }
+
+    private BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage img = config != null
+                ? config.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+
+        Graphics2D g2d = img.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.drawImage(source, 0, 0, width, height, null);
+        g2d.dispose();
+        return img;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<Key, BufferedImage>> it = entries.entrySet().iterator();
+        // Nunca se descarta la última entrada (la que se acaba de pedir)
+        while (usedBytes > budgetBytes && entries.size() > 1 && it.hasNext()) {
+            Map.Entry<Key, BufferedImage> eldest = it.next();
+            usedBytes -= bytesOf(eldest.getValue());
+            it.remove();
+        }
+    }
+
+    private static long bytesOf(BufferedImage img) {
+        return (long) img.getWidth() * img.getHeight() * 4;
+    }
+
+    // Quita todas las versiones escaladas de una imagen que ya no se va a usar
+    public void removeSource(BufferedImage source) {
+        Iterator<Map.Entry<Key, BufferedImage>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, BufferedImage> entry = it.next();
+            if (entry.getKey().source == source) {
+                usedBytes -= bytesOf(entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    public long getUsedBytes() { return usedBytes; }
+    public long getBudgetBytes() { return budgetBytes; }
+    public int size() { return entries.size(); }
+
+    private static final class Key {
+        BufferedImage source;
+        int width, height;
+
+        void set(BufferedImage source, int width, int height) {
+            this.source = source;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return source == k.source && width == k.width && height == k.height;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = System.identityHashCode(source);
+            h = 31 * h + width;
+            return 31 * h + height;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package Clases;
+
+import Enums.AnimationType;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hoja de sprites: una imagen con varios frames y un archivo de texto que dice
+ * dónde está cada frame y qué clips se arman con ellos, una instrucción por línea:
+ *
+ *   image /mario_sprites.png.png
+ *   colorkey 223,239,238 90         (opcional: ese color de fondo, con tolerancia, queda transparente)
+ *   frame quieto 4 290 380 490      (nombre x y ancho alto, en píxeles de la imagen original)
+ *   clip WALK 8 loop paso1 paso2    (animación, ticks por frame, loop u once, frames)
+ *
+ * Las líneas vacías y las que empiezan con # se ignoran.
+ * La imagen se decodifica una vez; los frames son sub-imágenes que comparten su raster.
+ */
+public class SpriteSheet {
+    private final String path;
+    private String imagePath;
+    private Color colorKey;
+    private int keyTolerance;
+    private final LinkedHashMap<String, Rectangle> frames = new LinkedHashMap<>();
+    private final EnumMap<AnimationType, ClipDef> clips = new EnumMap<>(AnimationType.class);
+    // Área que ocupan todos los frames (lo demás de la imagen no se guarda)
+    private Rectangle bounds;
+
+    private SpriteSheet(String path) {
+        this.path = path;
+    }
+
+    public static SpriteSheet load(String path) throws IOException {
+        GameAssets.AssetSource source = GameAssets.findSource(path);
+        if (source == null) {
+            throw new IOException("no existe");
+        }
+
+        SpriteSheet sheet = new SpriteSheet(path);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(source.url.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                try {
+                    sheet.parse(line.split("\\s+"));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(path + ":" + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+        sheet.validate();
+        return sheet;
+    }
+
+    private void parse(String[] parts) {
+        switch (parts[0]) {
+            case "image":
+                expect(parts, 2);
+                imagePath = parts[1];
+                break;
+            case "colorkey":
+                expect(parts, 3);
+                String[] rgb = parts[1].split(",");
+                if (rgb.length != 3) {
+                    throw new IllegalArgumentException("color inválido: " + parts[1]);
+                }
+                colorKey = new Color(parseInt(rgb[0]), parseInt(rgb[1]), parseInt(rgb[2]));
+                keyTolerance = parseInt(parts[2]);
+                break;
+            case "frame":
+                expect(parts, 6);
+                Rectangle rect = new Rectangle(parseInt(parts[2]), parseInt(parts[3]), parseInt(parts[4]), parseInt(parts[5]));
+                if (rect.width <= 0 || rect.height <= 0) {
+                    throw new IllegalArgumentException("frame vacío: " + parts[1]);
+                }
+                frames.put(parts[1], rect);
+                bounds = bounds == null ? new Rectangle(rect) : bounds.union(rect);
+                break;
+            case "clip":
+                if (parts.length < 5) {
+                    throw new IllegalArgumentException("se esperaba: clip TIPO ticks loop|once frame...");
+                }
+                AnimationType type;
+                try {
+                    type = AnimationType.valueOf(parts[1]);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("animación desconocida: " + parts[1]);
+                }
+                List<String> names = new ArrayList<>();
+                for (int i = 4; i < parts.length; i++) {
+                    if (!frames.containsKey(parts[i])) {
+                        throw new IllegalArgumentException("frame no definido: " + parts[i]);
+                    }
+                    names.add(parts[i]);
+                }
+                clips.put(type, new ClipDef(names.toArray(new String[0]), parseInt(parts[2]), !"once".equals(parts[3])));
+                break;
+            default:
+                throw new IllegalArgumentException("instrucción desconocida: " + parts[0]);
+        }
+    }
+
+    private void validate() throws IOException {
+        if (imagePath == null) {
+            throw new IOException(path + ": falta 'image'");
+        }
+        if (frames.isEmpty()) {
+            throw new IOException(path + ": no hay frames");
+        }
+    }
+
+    private static void expect(String[] parts, int count) {
+        if (parts.length != count) {
+            throw new IllegalArgumentException("'" + parts[0] + "' lleva " + (count - 1) + " valores");
+        }
+    }
+
+    private static int parseInt(String text) {
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("número inválido: " + text);
+        }
+    }
+
+    /**
+     * Deja la imagen lista para guardar: recorta el área de los frames, vuelve
+     * transparente el fondo (si hay colorkey) y la reduce para que ningún frame
+     * pase de maxFrameSize. Se hace una sola vez al cargar.
+     */
+    public BufferedImage prepare(BufferedImage img, Dimension maxFrameSize) {
+        Rectangle area = bounds.intersection(new Rectangle(0, 0, img.getWidth(), img.getHeight()));
+        if (area.isEmpty()) {
+            throw new IllegalArgumentException("los frames quedan fuera de la imagen " + imagePath);
+        }
+
+        int[] argb = img.getRGB(area.x, area.y, area.width, area.height, null, 0, area.width);
+        if (colorKey != null) {
+            int kr = colorKey.getRed(), kg = colorKey.getGreen(), kb = colorKey.getBlue();
+            for (int i = 0; i < argb.length; i++) {
+                int p = argb[i];
+                if (Math.abs(((p >> 16) & 0xFF) - kr) <= keyTolerance
+                        && Math.abs(((p >> 8) & 0xFF) - kg) <= keyTolerance
+                        && Math.abs((p & 0xFF) - kb) <= keyTolerance) {
+                    argb[i] = 0;
+                }
+            }
+        }
+        BufferedImage cropped = new BufferedImage(area.width, area.height, BufferedImage.TYPE_INT_ARGB);
+        cropped.setRGB(0, 0, area.width, area.height, argb, 0, area.width);
+
+        // Misma escala para todos los frames: el más grande queda dentro del máximo
+        int maxWidth = 0, maxHeight = 0;
+        for (Rectangle rect : frames.values()) {
+            maxWidth = Math.max(maxWidth, rect.width);
+            maxHeight = Math.max(maxHeight, rect.height);
+        }
+        double scale = Math.min(1, Math.min(maxFrameSize.width / (double) maxWidth, maxFrameSize.height / (double) maxHeight));
+        if (scale >= 1) {
+            return cropped;
+        }
+        return AssetSizes.downscale(cropped,
+                Math.max(1, (int) Math.round(area.width * scale)), Math.max(1, (int) Math.round(area.height * scale)));
+    }
+
+    /**
+     * Corta los frames de una imagen preparada con prepare() (o de una de sus skins)
+     * y arma los clips. Las sub-imágenes comparten el raster de 'sheet'.
+     * Si 'sheet' es la hoja espejada, cada rectángulo se toma desde el otro lado.
+     */
+    public SpriteAnimations slice(BufferedImage sheet, boolean mirrored) {
+        // La imagen pudo haberse reducido (tamaño máximo o presupuesto de memoria)
+        double scaleX = sheet.getWidth() / (double) bounds.width;
+        double scaleY = sheet.getHeight() / (double) bounds.height;
+
+        Map<String, BufferedImage> images = new LinkedHashMap<>();
+        for (Map.Entry<String, Rectangle> entry : frames.entrySet()) {
+            Rectangle rect = entry.getValue();
+            int x = clamp((int) Math.round((rect.x - bounds.x) * scaleX), 0, sheet.getWidth() - 1);
+            int y = clamp((int) Math.round((rect.y - bounds.y) * scaleY), 0, sheet.getHeight() - 1);
+            int width = clamp((int) Math.round(rect.width * scaleX), 1, sheet.getWidth() - x);
+            int height = clamp((int) Math.round(rect.height * scaleY), 1, sheet.getHeight() - y);
+            if (mirrored) {
+                x = sheet.getWidth() - x - width;
+            }
+            images.put(entry.getKey(), sheet.getSubimage(x, y, width, height));
+        }
+
+        // Sin clip IDLE se usa el primer frame
+        ClipDef idle = clips.get(AnimationType.IDLE);
+        SpriteAnimations animations = new SpriteAnimations(idle != null
+                ? idle.build(images)
+                : new AnimationClip(new BufferedImage[] {images.values().iterator().next()},
+                        SpriteAnimations.DEFAULT_TICKS_PER_FRAME, true));
+        for (Map.Entry<AnimationType, ClipDef> entry : clips.entrySet()) {
+            if (entry.getKey() != AnimationType.IDLE) {
+                animations.put(entry.getKey(), entry.getValue().build(images));
+            }
+        }
+        return animations;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(value, max));
+    }
+
+    public String getPath() { return path; }
+    public String getImagePath() { return imagePath; }
+    public int getFrameCount() { return frames.size(); }
+
+    private static final class ClipDef {
+        final String[] frameNames;
+        final int ticksPerFrame;
+        final boolean loop;
+
+        ClipDef(String[] frameNames, int ticksPerFrame, boolean loop) {
+            this.frameNames = frameNames;
+            this.ticksPerFrame = ticksPerFrame;
+            this.loop = loop;
+        }
+
+        AnimationClip build(Map<String, BufferedImage> images) {
+            BufferedImage[] clipFrames = new BufferedImage[frameNames.length];
+            for (int i = 0; i < frameNames.length; i++) {
+                clipFrames[i] = images.get(frameNames[i]);
+            }
+            return new AnimationClip(clipFrames, ticksPerFrame, loop);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package Enums;
+
+// Animaciones que puede tener un sprite (si falta alguna se usa IDLE)
+public enum AnimationType {
+    IDLE,
+    WALK,
+    JUMP,
+    HURT
+}
@@ -1,20 +1,46 @@
 package Enums;
 
+import java.awt.Color;
+
+// Personajes incluidos en el juego (el CharacterRegistry puede sumar más desde un archivo)
 public enum CharacterType {
-    MARIO("Mario", "/assets/characters/mario_1.png", "/assets/characters/mario_2.png"),
-    PEPPA("Peppa Pig", "/assets/characters/peppa_1.png", "/assets/characters/peppa_2.png"),
-    HOMERO("Homero", "/assets/characters/homero_1.png", "/assets/characters/homero_2.png"),
-    JOHN_WICK("John Wick", "/assets/characters/john_1.png", "/assets/characters/john_2.png"),
-    EMPANADA("Empanada Gaucha", "/assets/characters/empanada_1.png", "/assets/characters/empanada_2.png");
+    MARIO("Mario", "/assets/characters/mario_1.png", "/assets/characters/mario_2.png",
+            Color.RED, "El fontanero más famoso del mundo. ¡Su salto es legendario!"),
+    PEPPA("Peppa Pig", "/assets/characters/peppa_1.png", "/assets/characters/peppa_2.png",
+            new Color(255, 182, 193), "La cerdita más aventurera. ¡Saltar en charcos es su especialidad!"),
+    HOMERO("Homero", "/assets/characters/homero_1.png", "/assets/characters/homero_2.png",
+            Color.YELLOW, "¡D'oh! El padre de familia más torpe pero con gran corazón (y hambre)."),
+    JOHN_WICK("John Wick", "/assets/characters/john_1.png", "/assets/characters/john_2.png",
+            new Color(50, 50, 50), "El asesino más letal. Nadie toca a su perro... ¡ni a sus hongos!"),
+    EMPANADA("Empanada Gaucha", "/assets/characters/empanada_1.png", "/assets/characters/empanada_2.png",
+            new Color(160, 82, 45), "La empanada más gaucha del mundo. ¡Es pura tradición y sabor!"),
+    MARIO_CLASICO("Mario Clásico", "/mario_sprites.sheet",
+            new Color(220, 40, 20), "El Mario de los 8 bits, animado desde su hoja de sprites.");
 
     private final String name;
     private final String frame1Path;
     private final String frame2Path;
+    // Hoja de sprites (ver SpriteSheet); si está, no hay frames sueltos
+    private final String sheetPath;
+    private final Color color;
+    private final String description;
 
-    CharacterType(String name, String frame1Path, String frame2Path) {
+    CharacterType(String name, String frame1Path, String frame2Path, Color color, String description) {
         this.name = name;
         this.frame1Path = frame1Path;
         this.frame2Path = frame2Path;
+        this.sheetPath = null;
+        this.color = color;
+        this.description = description;
+    }
+
+    CharacterType(String name, String sheetPath, Color color, String description) {
+        this.name = name;
+        this.frame1Path = null;
+        this.frame2Path = null;
+        this.sheetPath = sheetPath;
+        this.color = color;
+        this.description = description;
     }
 
     public String getName() {
@@ -29,7 +55,19 @@ public enum CharacterType {
         return frame2Path;
     }
 
+    public String getSheetPath() {
+        return sheetPath;
+    }
+
+    public Color getColor() {
+        return color;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
     public static CharacterType getDefault() {
         return MARIO;
     }
-}
\ No newline at end of file
+}
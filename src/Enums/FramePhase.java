@@ -0,0 +1,19 @@
+package Enums;
+
+// Partes de un frame que se miden por separado (ver PerformanceStats)
+public enum FramePhase {
+    INPUT("Entrada"),
+    SIMULATION("Simulación"),
+    WORLD("Escenario"),
+    ENTITIES("Entidades"),
+    HUD("HUD"),
+    FRAME("Frame");
+
+    private final String label;
+
+    FramePhase(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+}
@@ -0,0 +1,48 @@
+package Enums;
+
+import java.awt.Color;
+
+// Variantes de color de los personajes: se aplican a la paleta, no a cada píxel
+public enum SkinType {
+    ORIGINAL("Original", 0f, 1f, 1f),
+    AZUL("Equipo azul", 0.6f, 1f, 1f),
+    VERDE("Equipo verde", 0.33f, 1f, 1f),
+    DORADO("Dorado", 0.12f, 1.3f, 1.1f),
+    INVIERNO("Invierno", 0.5f, 0.35f, 1.2f),
+    SOMBRA("Sombra", 0f, 0.15f, 0.45f);
+
+    private final String name;
+    private final float hueShift;
+    private final float saturationScale;
+    private final float brightnessScale;
+
+    SkinType(String name, float hueShift, float saturationScale, float brightnessScale) {
+        this.name = name;
+        this.hueShift = hueShift;
+        this.saturationScale = saturationScale;
+        this.brightnessScale = brightnessScale;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Transforma un color ARGB (sin premultiplicar) conservando su transparencia
+    public int apply(int argb) {
+        if (this == ORIGINAL) return argb;
+
+        float[] hsb = Color.RGBtoHSB((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF, null);
+        float hue = hsb[0] + hueShift;
+        float saturation = Math.min(1f, hsb[1] * saturationScale);
+        float brightness = Math.min(1f, hsb[2] * brightnessScale);
+        return (argb & 0xFF000000) | (Color.HSBtoRGB(hue, saturation, brightness) & 0x00FFFFFF);
+    }
+
+    public SkinType next() {
+        return values()[(ordinal() + 1) % values().length];
+    }
+
+    public SkinType previous() {
+        return values()[(ordinal() - 1 + values().length) % values().length];
+    }
+}
@@ -1,11 +1,20 @@
 import Clases.*;
-import Enums.CharacterType;
+import Enums.AnimationType;
+import Enums.FramePhase;
+import Enums.SkinType;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Random;
 
 public class MarioGame extends JPanel implements ActionListener, KeyListener {
@@ -16,32 +25,41 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
     private static final int WIDTH = 1360;
     private static final int HEIGHT = 768;
     private static final int GROUND_Y = HEIGHT - 50;
-    private static final int WORLD_WIDTH = 5000;
-
-    private Player player;
-    private ArrayList<Enemy> enemies;
-    private ArrayList<Bullet> bullets;
-    private Boss boss;
-    private Environment environment;
+    // Nivel armado a mano (-Dmario.level) o, si no hay, uno generado de -Dmario.worldWidth (0 = sin fin)
+    private static final LevelFile LEVEL = GameWorld.openConfiguredLevel();
+    private static final int WORLD_WIDTH = LEVEL != null ? LEVEL.getWorldWidth() : GameWorld.getConfiguredWorldWidth();
+    private static final int BOSS_MAX_HEALTH = 10;
+    // Duración de un tick de simulación (16 ms, el ritmo del antiguo Timer(16))
+    private static final long TICK_NANOS = Long.getLong("mario.tickNanos", 16_000_000L);
+
+    // Simulación (sin Swing); este panel solo la dibuja y le pasa la entrada
+    private GameWorld world;
+    private final InputFrame input = new InputFrame();
     private GameAssets assets;
     private Random rand;
 
     private GameState gameState = GameState.TITLE_SCREEN;
-    private int score;
-    private int enemyWaveCount;
-    private int lives;
     private int cameraX;
-    private CharacterType selectedCharacter = CharacterType.MARIO;
-
-    private Timer gameTimer, spawnTimer, waveTimer, titleTimer;
+    // Personajes jugables (los de siempre más los del archivo de personajes)
+    private final CharacterRegistry characterRegistry = CharacterRegistry.getDefault();
+    private CharacterInfo selectedCharacter = characterRegistry.getDefaultCharacter();
+    private SkinType selectedSkin = SkinType.ORIGINAL;
+    private String skinLabel = "SKIN: " + selectedSkin.getName();
 
-    private String waveMessage = "";
-    private int waveMessageTimer = 0;
+    private Timer gameTimer, titleTimer;
     private int titleAnimationFrame = 0;
     private int characterSelectIndex = 0;
     private int blinkTimer = 0; // Timer para controlar el parpadeo
+    // Reloj de las animaciones del título y la selección (el titleTimer va cada 100 ms, unos 6 ticks)
+    private final AnimationClock titleClock = new AnimationClock();
+    private static final int TITLE_CLOCK_STEP = 6;
 
     // Variables para el menú mejorado
+    private static final int MAX_PARADE_CHARACTERS = 5;
+    // Carrusel de la selección: tarjetas en pantalla y separación entre ellas
+    private static final int VISIBLE_CARDS = 5;
+    private static final int CARD_SPACING = 220;
+    private CharacterInfo[] paradeCharacters;
     private int[] characterPositions;
     private int[] characterSpeeds;
     private boolean[] characterDirections;
@@ -49,44 +67,135 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
     private int sunPulse = 0;
     private float sunPulseDirection = 0.1f;
 
-    private boolean[] keys = new boolean[256];
+    // Eventos de teclado hacia la simulación (se aplican al empezar cada tick)
+    private final InputQueue inputQueue = new InputQueue(256);
+    // Tecla -> pantalla: cada evento aplicado se registra cuando se muestra el frame siguiente
+    private final LatencyProbe latencyProbe = new LatencyProbe();
+
+    // Tiempos por fase, gráfico de frames, heap y GC (panel F3; CSV al salir)
+    private final PerformanceStats perfStats = new PerformanceStats();
+
+    // Panel de depuración (F3) y exportación del histograma de latencia (F4)
+    private boolean showDebugOverlay;
+    // Textos del panel: se rearman cada DEBUG_REFRESH_NANOS, no en cada frame
+    private static final long DEBUG_REFRESH_NANOS = 500_000_000L;
+    private long debugRefreshTime;
+    private String[] debugLines = new String[0];
+    private static final Font DEBUG_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final int GRAPH_HEIGHT = 80;
+    // El gráfico llega hasta 50 ms; las líneas marcan 60 y 30 FPS
+    private static final double GRAPH_MAX_MILLIS = 50;
+
+    // Render activo (opcional): un hilo propio dibuja sobre un Canvas con BufferStrategy
+    private final boolean activeRendering;
+    private Canvas renderCanvas;
+    private ActiveRenderLoop renderLoop;
+    // Protege el estado del juego entre el EDT y el hilo de render
+    private final Object stateLock = new Object();
+
+    // Simulación a paso fijo e interpolación al dibujar
+    private final FixedTimestep timestep = new FixedTimestep(TICK_NANOS, 5);
+    private float renderAlpha = 1f;
+    private final Rectangle playerRenderRect = new Rectangle();
+
+    // Pinturas fijas y textos del HUD que solo cambian con su valor
+    private static final GradientPaint TITLE_SKY_GRADIENT = new GradientPaint(
+            0, 0, RenderResources.color(135, 206, 235),
+            0, HEIGHT, RenderResources.color(100, 149, 237));
+    private static final GradientPaint NIGHT_SKY_GRADIENT = new GradientPaint(
+            0, 0, RenderResources.color(30, 30, 70),
+            0, HEIGHT, Color.BLACK);
+    private static final GradientPaint GAME_OVER_GRADIENT = new GradientPaint(
+            WIDTH/2 - 230, HEIGHT/2 - 130, Color.RED,
+            WIDTH/2 + 230, HEIGHT/2 - 50, RenderResources.color(139, 0, 0));
+    private static final GradientPaint PAUSE_GRADIENT = new GradientPaint(
+            WIDTH/2 - 130, HEIGHT/2 - 100, Color.CYAN,
+            WIDTH/2 + 130, HEIGHT/2, Color.BLUE);
+    // Borde del jugador cuando no hay sprite (darker() crea un Color nuevo)
+    private static final Color PLAYER_OUTLINE = Color.BLUE.darker();
+    private GradientPaint instructionsGradient;
+
+    // Capas fijas del menú, dibujadas una vez (ver bakeTitleLayers / bakeSelectionBackdrop)
+    private BufferedImage titleBackLayer, titleFrontLayer, titleTextLayer, selectionBackdrop;
+    private int subtitleWidth;
+
+    // Cielo estrellado fijo: posiciones deterministas y tabla de brillo por estrella
+    private static final int STAR_COUNT = 50;
+    private static final int TWINKLE_PHASES = 40; // mismo ciclo que blinkTimer
+    private final int[] starX = new int[STAR_COUNT];
+    private final int[] starY = new int[STAR_COUNT];
+    private final int[] starSize = new int[STAR_COUNT];
+    private final Color[][] starTwinkle = new Color[STAR_COUNT][];
+    private final CachedText scoreLabel = new CachedText("PUNTUACIÓN: ");
+    private final CachedText waveLabel = new CachedText("OLEADA: ");
+    private final CachedText finalScoreLabel = new CachedText("Puntuación Final: ");
+    private final CachedText healthLabel = new CachedText("", "/" + BOSS_MAX_HEALTH);
+    private final CachedText selectionPosition = new CachedText("", "/" + characterRegistry.size());
+    private CachedText loadingLabel;
 
     public MarioGame() {
+        this(false);
+    }
+
+    public MarioGame(boolean activeRendering) {
+        this.activeRendering = activeRendering;
+        inputQueue.setProbe(latencyProbe);
+        perfStats.track("TECLA_PANTALLA", latencyProbe.getHistogram());
         setPreferredSize(new Dimension(WIDTH, HEIGHT));
-        setBackground(new Color(135, 206, 235));
-        setFocusable(true);
-        addKeyListener(this);
+        setBackground(RenderResources.color(135, 206, 235));
+
+        if (activeRendering) {
+            setLayout(new BorderLayout());
+            renderCanvas = new Canvas();
+            renderCanvas.setPreferredSize(new Dimension(WIDTH, HEIGHT));
+            renderCanvas.setIgnoreRepaint(true);
+            renderCanvas.setFocusable(true);
+            renderCanvas.addKeyListener(this);
+            add(renderCanvas, BorderLayout.CENTER);
+        } else {
+            setFocusable(true);
+            addKeyListener(this);
+        }
 
         rand = new Random();
+        // Las imágenes se cargan en segundo plano; el título se muestra enseguida
         assets = new GameAssets();
+        assets.addLoadListener(() -> SwingUtilities.invokeLater(() -> runLocked(this::onAssetLoaded)));
+
+        loadingLabel = new CachedText("CARGANDO IMÁGENES ", "/" + assets.getTotalCount());
 
         initializeGame();
         initializeTitleScreen();
+        prefetchTitleCharacters();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        // Los sprites y las capas fijas se crean con el formato de la pantalla donde se muestra el panel
+        assets.getSpriteCache().setGraphicsConfiguration(getGraphicsConfiguration());
+        invalidateBackdrops();
     }
 
     private void initializeGame() {
-        player = null;
-        enemies = new ArrayList<>();
-        bullets = new ArrayList<>();
-        boss = null;
-        environment = new Environment(GROUND_Y, WORLD_WIDTH);
-
-        score = 0;
-        lives = 3;
-        enemyWaveCount = 1;
+        world = LEVEL != null
+                ? new GameWorld(GROUND_Y, HEIGHT, LEVEL, TICK_NANOS, rand.nextLong())
+                : new GameWorld(GROUND_Y, HEIGHT, WORLD_WIDTH, TICK_NANOS, rand.nextLong());
         cameraX = 0;
 
         gameTimer = new Timer(16, this); // 60 FPS
-        spawnTimer = new Timer(500, e -> spawnEnemy());
-        waveTimer = new Timer(10000, e -> advanceWave());
-        titleTimer = new Timer(100, e -> updateTitleScreen());
+        titleTimer = new Timer(100, e -> runLocked(this::updateTitleScreen));
 
         titleTimer.start();
     }
 
     private void initializeTitleScreen() {
-        // Inicializar posiciones de personajes corriendo
-        CharacterType[] characters = CharacterType.values();
+        // Inicializar posiciones de personajes corriendo (los primeros del registro)
+        CharacterInfo[] characters = new CharacterInfo[Math.min(MAX_PARADE_CHARACTERS, characterRegistry.size())];
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = characterRegistry.get(i);
+        }
+        paradeCharacters = characters;
         characterPositions = new int[characters.length];
         characterSpeeds = new int[characters.length];
         characterDirections = new boolean[characters.length]; // true = derecha, false = izquierda
@@ -97,6 +206,8 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
             characterDirections[i] = rand.nextBoolean();
         }
 
+        initStarfield();
+
         // Inicializar nubes
         clouds = new ArrayList<>();
         for (int i = 0; i < 8; i++) {
@@ -110,12 +221,16 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
     }
 
     private void updateTitleScreen() {
+        // Fuera de la partida la cola se vacía acá; solo importa qué teclas quedan apretadas
+        drainMenuInput();
+
         // Actualizar animación de parpadeo
         titleAnimationFrame = (titleAnimationFrame + 1) % 8;
         blinkTimer = (blinkTimer + 1) % 40;
+        titleClock.advance(TITLE_CLOCK_STEP);
 
         // Actualizar posición de personajes
-        CharacterType[] characters = CharacterType.values();
+        CharacterInfo[] characters = paradeCharacters;
         for (int i = 0; i < characters.length; i++) {
             if (characterDirections[i]) {
                 characterPositions[i] += characterSpeeds[i];
@@ -146,244 +261,176 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
         repaint();
     }
 
-    private void startNewGame() {
-        player = new Player(60, GROUND_Y, selectedCharacter);
-        player.setCharacterFrames(assets.getCharacterFrames(selectedCharacter));
-
-        enemies.clear();
-        bullets.clear();
-        boss = null;
+    /**
+     * Vacía la cola de entrada sin medir latencia. La cola admite un solo lector
+     * a la vez: acá (EDT) o advanceSimulation (EDT o hilo de render), siempre
+     * con stateLock tomado.
+     */
+    private void drainMenuInput() {
+        inputQueue.drainTo(input);
+        input.clearPresses();
+    }
 
-        score = 0;
-        lives = 3;
-        enemyWaveCount = 1;
+    private void startNewGame() {
+        world.startNewGame(selectedCharacter);
+        world.getPlayer().setAnimations(assets.getCharacterAnimations(selectedCharacter, selectedSkin));
+        assets.releaseCharactersExcept(selectedCharacter);
+        // Las teclas que siguen apretadas valen para la partida nueva
+        drainMenuInput();
         cameraX = 0;
 
         gameTimer.start();
-        spawnTimer.start();
-        waveTimer.start();
         titleTimer.stop();
+        timestep.reset();
         gameState = GameState.PLAYING;
-
-        waveMessage = "¡COMIENZA LA AVENTURA!";
-        waveMessageTimer = 120;
     }
 
-    private void advanceWave() {
-        enemyWaveCount++;
-        waveMessage = "¡OLEADA " + enemyWaveCount + "!";
-        waveMessageTimer = 120;
-
-        if (enemyWaveCount % 3 == 0) {
-            spawnBoss();
-        }
+    private void gameOver() {
+        gameState = GameState.GAME_OVER;
+        gameTimer.stop();
+        titleTimer.start();
     }
 
-    private void spawnEnemy() {
-        if (gameState != GameState.PLAYING || player == null) return;
-
-        for (int i = 0; i < enemyWaveCount; i++) {
-            int y = 50 + rand.nextInt(GROUND_Y - 200);
-            boolean fromRight = rand.nextBoolean();
-            int x = fromRight ? WORLD_WIDTH : -80;
-            int speed = fromRight ? -3 : 3;
-            enemies.add(new Enemy(x, y, 80, 80, speed, 2 + rand.nextInt(3)));
-        }
-    }
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        // En modo activo dibuja el hilo de render sobre el Canvas
+        if (activeRendering) return;
 
-    private void spawnBoss() {
-        int bossY = GROUND_Y - 200;
-        boss = new Boss(WORLD_WIDTH / 2 - 100, bossY, 200, 200, 10);
-        waveMessage = "¡BOSS HA APARECIDO!";
-        waveMessageTimer = 120;
+        renderFrame((Graphics2D) g);
+        // Swing copia su buffer a la pantalla apenas termina de pintar
+        latencyProbe.markPresented(System.nanoTime());
     }
 
-    private void updateGame() {
-        if (player == null) return;
-
-        // Actualizar jugador con plataformas para colisiones
-        player.update(environment.getPlatforms());
-
-        // Controlar cámara
-        Rectangle playerRect = player.getRect();
-        cameraX = playerRect.x - WIDTH / 2;
-        cameraX = Math.max(0, Math.min(cameraX, WORLD_WIDTH - WIDTH));
-
-        // Actualizar entrada del jugador
-        handlePlayerInput();
-
-        // Actualizar enemigos
-        updateEnemies();
-
-        // Actualizar balas
-        updateBullets();
-
-        // Actualizar boss
-        if (boss != null && boss.isAlive()) {
-            boss.update(GROUND_Y);
-
-            // Verificar colisión con el jugador
-            if (playerRect.intersects(boss.getRect())) {
-                if (player.takeDamage()) {
-                    lives--;
-                    player.getRect().x -= 100;
-                    if (lives <= 0) {
-                        gameOver();
-                    }
-                }
-            }
-        }
-
-        // Actualizar nubes del entorno
-        if (environment != null) {
-            environment.updateClouds();
-        }
-
-        // Actualizar mensaje de oleada
-        if (waveMessageTimer > 0) {
-            waveMessageTimer--;
+    private void renderFrame(Graphics2D g2d) {
+        // El gráfico y la fase FRAME solo cuentan la partida (los menús se redibujan cada 100 ms)
+        if (gameState == GameState.PLAYING) {
+            perfStats.frameStarted(System.nanoTime());
+        } else {
+            perfStats.pauseFrameClock();
         }
+        applyQualityHints(g2d);
 
-        // Verificar si el boss fue derrotado
-        if (boss != null && !boss.isAlive()) {
-            score += 1000;
-            boss = null;
-            waveMessage = "¡BOSS DERROTADO! +1000 PUNTOS";
-            waveMessageTimer = 120;
+        switch (gameState) {
+            case TITLE_SCREEN -> drawTitleScreen(g2d);
+            case CHARACTER_SELECTION -> drawCharacterSelection(g2d);
+            case PLAYING -> drawGame(g2d);
+            case GAME_OVER -> drawGameOver(g2d);
+            case PAUSE -> {
+                drawGame(g2d);
+                drawPauseScreen(g2d);
+            }
         }
 
-        // Verificar si el jugador cayó al vacío
-        if (playerRect.y > HEIGHT + 100) {
-            lives = 0;
-            gameOver();
+        if (showDebugOverlay) {
+            drawDebugOverlay(g2d);
         }
     }
 
-    private void handlePlayerInput() {
-        if (keys[KeyEvent.VK_LEFT]) {
-            player.moveLeft();
-        } else if (keys[KeyEvent.VK_RIGHT]) {
-            player.moveRight();
-        } else {
-            player.stop();
+    // Panel de rendimiento: fases, entidades, memoria, latencias y gráfico de frames
+    private void drawDebugOverlay(Graphics2D g2d) {
+        long now = System.nanoTime();
+        if (now - debugRefreshTime >= DEBUG_REFRESH_NANOS || debugLines.length == 0) {
+            debugRefreshTime = now;
+            refreshDebugLines();
         }
-    }
 
-    private void updateEnemies() {
-        ArrayList<Enemy> enemiesToRemove = new ArrayList<>();
+        int width = 2 * PerformanceStats.GRAPH_FRAMES + 140;
+        int x = WIDTH - width - 10;
+        int lineHeight = 18;
+        int height = 20 + debugLines.length * lineHeight + GRAPH_HEIGHT + 20;
 
-        for (Enemy enemy : enemies) {
-            enemy.update(GROUND_Y);
-
-            // Verificar colisión con el jugador
-            if (player.getRect().intersects(enemy.getRect())) {
-                if (player.takeDamage()) {
-                    lives--;
-                    player.getRect().x -= 50;
-                    if (lives <= 0) {
-                        gameOver();
-                    }
-                }
-                enemiesToRemove.add(enemy);
-                score += 10;
-            }
-
-            // Eliminar enemigos fuera de pantalla
-            if (enemy.getRect().x < -100 || enemy.getRect().x > WORLD_WIDTH + 100) {
-                enemiesToRemove.add(enemy);
-            }
+        g2d.setColor(RenderResources.color(0, 0, 0, 170));
+        g2d.fillRect(x, 10, width, height);
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(DEBUG_FONT);
+        int y = 30;
+        for (String line : debugLines) {
+            g2d.drawString(line, x + 10, y);
+            y += lineHeight;
         }
 
-        enemies.removeAll(enemiesToRemove);
+        drawFrameGraph(g2d, x + 20, y, 2 * PerformanceStats.GRAPH_FRAMES);
     }
 
-    private void updateBullets() {
-        ArrayList<Bullet> bulletsToRemove = new ArrayList<>();
-
-        for (Bullet bullet : bullets) {
-            bullet.update();
-
-            // Verificar colisión con enemigos
-            for (int i = 0; i < enemies.size(); i++) {
-                if (bullet.getRect().intersects(enemies.get(i).getRect())) {
-                    bulletsToRemove.add(bullet);
-                    enemies.remove(i);
-                    score += 10;
-                    break;
-                }
-            }
-
-            // Verificar colisión con el boss
-            if (boss != null && boss.isAlive() && bullet.getRect().intersects(boss.getRect())) {
-                bulletsToRemove.add(bullet);
-                boss.damage();
-                score += 100;
-            }
-
-            // Eliminar balas fuera de pantalla
-            if (bullet.getRect().x < -50 || bullet.getRect().x > WORLD_WIDTH + 50) {
-                bulletsToRemove.add(bullet);
-            }
+    // Una barra por frame (el más reciente a la derecha): verde hasta 60 FPS, amarillo hasta 30, rojo más
+    private void drawFrameGraph(Graphics2D g2d, int x, int y, int width) {
+        double pixelsPerNano = GRAPH_HEIGHT / (GRAPH_MAX_MILLIS * 1_000_000);
+        int bottom = y + GRAPH_HEIGHT;
+        for (int i = 0; i < PerformanceStats.GRAPH_FRAMES; i++) {
+            long frameNanos = perfStats.getFrameTime(PerformanceStats.GRAPH_FRAMES - 1 - i);
+            if (frameNanos == 0) continue;
+
+            int barHeight = (int) Math.min(GRAPH_HEIGHT, frameNanos * pixelsPerNano);
+            g2d.setColor(frameNanos <= 17_000_000 ? Color.GREEN : frameNanos <= 34_000_000 ? Color.YELLOW : Color.RED);
+            g2d.fillRect(x + 2 * i, bottom - barHeight, 2, barHeight);
         }
 
-        bullets.removeAll(bulletsToRemove);
+        g2d.setColor(RenderResources.color(255, 255, 255, 120));
+        int line60 = bottom - (int) (16.7 * GRAPH_HEIGHT / GRAPH_MAX_MILLIS);
+        int line30 = bottom - (int) (33.3 * GRAPH_HEIGHT / GRAPH_MAX_MILLIS);
+        g2d.drawLine(x, line60, x + width, line60);
+        g2d.drawLine(x, line30, x + width, line30);
+        g2d.drawLine(x, bottom, x + width, bottom);
     }
 
-    private void gameOver() {
-        gameState = GameState.GAME_OVER;
-        gameTimer.stop();
-        spawnTimer.stop();
-        waveTimer.stop();
-        titleTimer.start();
+    private void refreshDebugLines() {
+        perfStats.sampleMemory();
+        FramePhase[] phases = FramePhase.values();
+        String[] lines = new String[phases.length + 5];
+        int n = 0;
+        for (FramePhase phase : phases) {
+            LatencyHistogram h = perfStats.get(phase);
+            lines[n++] = String.format("%-11s p50 %7.2f | p99 %7.2f | máx %7.2f ms  (n=%d)", phase.getLabel(),
+                    h.getPercentile(0.50) / 1e6, h.getPercentile(0.99) / 1e6, h.getMax() / 1e6, h.getCount());
+        }
+        lines[n++] = String.format("Enemigos %d | Balas %d | Jefe %s", world.getEnemyCount(), world.getBulletCount(),
+                world.getBoss() != null ? "sí" : "no");
+        lines[n++] = String.format("Heap %.1f / %.1f MB | GC %d (%d ms)", perfStats.getHeapUsed() / 1048576.0,
+                perfStats.getHeapMax() / 1048576.0, perfStats.getGcCount(), perfStats.getGcMillis());
+        lines[n++] = "Tecla->pantalla: " + latencyProbe.getHistogram();
+        lines[n++] = "Cola de entrada: " + inputQueue;
+        lines[n] = "F3 ocultar | F4 exportar latencias | Frames (verde 60 FPS, amarillo 30):";
+        debugLines = lines;
     }
 
-    private void shoot() {
-        if (player == null || gameState != GameState.PLAYING) return;
-
-        int direction = player.isFacingRight() ? 1 : -1;
-        Rectangle rect = player.getRect();
-        int x = direction > 0 ? rect.x + rect.width : rect.x;
-        int y = rect.y + rect.height / 2 - 5;
-
-        bullets.add(new Bullet(x, y, direction));
+    // CSV con los tiempos por fase (-Dmario.perfCsv=archivo; sin la opción no se exporta)
+    public void exportPerformance() {
+        String file = System.getProperty("mario.perfCsv", "");
+        if (file.isEmpty()) return;
+
+        Path path = Paths.get(file);
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            perfStats.writeCsv(writer);
+            System.out.println("Rendimiento exportado a " + path);
+        } catch (IOException e) {
+            System.err.println("No se pudo exportar " + path + ": " + e.getMessage());
+        }
     }
 
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
-
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-
-        switch (gameState) {
-            case TITLE_SCREEN -> drawTitleScreen(g2d);
-            case CHARACTER_SELECTION -> drawCharacterSelection(g2d);
-            case PLAYING -> drawGame(g2d);
-            case GAME_OVER -> drawGameOver(g2d);
-            case PAUSE -> {
-                drawGame(g2d);
-                drawPauseScreen(g2d);
-            }
+    // Escribe el histograma tecla->pantalla en CSV (-Dmario.latencyCsv, por defecto latencia.csv)
+    private void exportLatency() {
+        Path path = Paths.get(System.getProperty("mario.latencyCsv", "latencia.csv"));
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            latencyProbe.getHistogram().writeCsv(writer);
+            System.out.println("Latencias exportadas a " + path + " (" + latencyProbe.getHistogram() + ")");
+        } catch (IOException e) {
+            System.err.println("No se pudo exportar " + path + ": " + e.getMessage());
         }
     }
 
     private void drawTitleScreen(Graphics2D g2d) {
-        // Fondo del cielo
-        GradientPaint skyGradient = new GradientPaint(
-                0, 0, new Color(135, 206, 235),
-                0, HEIGHT, new Color(100, 149, 237)
-        );
-        g2d.setPaint(skyGradient);
-        g2d.fillRect(0, 0, WIDTH, HEIGHT);
+        if (titleBackLayer == null) {
+            bakeTitleLayers();
+        }
 
-        // Montañas al fondo
-        drawMountains(g2d);
+        // Cielo y montañas (capa fija)
+        g2d.drawImage(titleBackLayer, 0, 0, null);
 
         // Sol con efecto de pulso
         int sunSize = 120 + sunPulse;
         if (assets.sun != null) {
-            g2d.drawImage(assets.sun, WIDTH - 200, 50, sunSize, sunSize, null);
+            g2d.drawImage(assets.getSprite(assets.sun, sunSize, sunSize), WIDTH - 200, 50, null);
         } else {
             g2d.setColor(Color.YELLOW);
             g2d.fillOval(WIDTH - 200, 50, sunSize, sunSize);
@@ -394,35 +441,106 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
             cloud.draw(g2d, assets);
         }
 
-        // Castillos decorativos
-        drawCastles(g2d);
-
-        // Suelo
-        drawGround(g2d);
+        // Castillos decorativos y suelo (capa fija)
+        g2d.drawImage(titleFrontLayer, 0, 0, null);
 
         // Personajes corriendo por el suelo - ¡CORREGIDO CON ANIMACIÓN!
         drawRunningCharacters(g2d);
 
-        // Título principal
-        drawMainTitle(g2d);
+        // Título principal y créditos (capa fija)
+        g2d.drawImage(titleTextLayer, 0, 0, null);
+
+        // Efecto de brillo intermitente del subtítulo
+        if (blinkTimer < 10) {
+            g2d.setColor(RenderResources.color(255, 255, 100, 150));
+            g2d.fillRoundRect((WIDTH - subtitleWidth) / 2 - 20, 210, subtitleWidth + 40, 50, 25, 25);
+        }
 
         // Instrucciones parpadeantes
         if (blinkTimer < 30) {
             drawInstructions(g2d);
         }
 
-        // Créditos
+        // Progreso de la carga de imágenes
+        if (!assets.isLoaded()) {
+            drawLoadingProgress(g2d);
+        }
+    }
+
+    private void drawLoadingProgress(Graphics2D g2d) {
+        int barWidth = 400;
+        int barHeight = 14;
+        int x = (WIDTH - barWidth) / 2;
+        int y = HEIGHT - 75;
+
+        g2d.setColor(RenderResources.color(0, 0, 0, 150));
+        g2d.fillRoundRect(x - 4, y - 4, barWidth + 8, barHeight + 8, 10, 10);
+        g2d.setColor(Color.YELLOW);
+        g2d.fillRect(x, y, Math.round(barWidth * assets.getLoadProgress()), barHeight);
+
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(RenderResources.font(Font.BOLD, 14));
+        g2d.drawString(loadingLabel.get(assets.getLoadedCount()), x, y - 8);
+    }
+
+    // Terminó de cargarse un asset: frames reales para el jugador y capas fijas de nuevo
+    private void onAssetLoaded() {
+        Player player = world.getPlayer();
+        if (player != null) {
+            player.setAnimations(assets.getCharacterAnimations(player.getCurrentCharacter(), selectedSkin));
+        }
+        invalidateBackdrops();
+        repaint();
+    }
+
+    // Las partes que no se mueven del título se dibujan una sola vez en imágenes
+    private void bakeTitleLayers() {
+        titleBackLayer = createLayer(false);
+        Graphics2D g2d = titleBackLayer.createGraphics();
+        applyQualityHints(g2d);
+        g2d.setPaint(TITLE_SKY_GRADIENT);
+        g2d.fillRect(0, 0, WIDTH, HEIGHT);
+        drawMountains(g2d);
+        g2d.dispose();
+
+        titleFrontLayer = createLayer(true);
+        g2d = titleFrontLayer.createGraphics();
+        applyQualityHints(g2d);
+        drawCastles(g2d);
+        drawGround(g2d);
+        g2d.dispose();
+
+        titleTextLayer = createLayer(true);
+        g2d = titleTextLayer.createGraphics();
+        applyQualityHints(g2d);
+        drawMainTitle(g2d);
         drawCredits(g2d);
+        g2d.dispose();
+    }
+
+    private BufferedImage createLayer(boolean translucent) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc != null) {
+            return gc.createCompatibleImage(WIDTH, HEIGHT,
+                    translucent ? Transparency.TRANSLUCENT : Transparency.OPAQUE);
+        }
+        return new BufferedImage(WIDTH, HEIGHT,
+                translucent ? BufferedImage.TYPE_INT_ARGB_PRE : BufferedImage.TYPE_INT_RGB);
+    }
+
+    // Descarta las capas fijas (por ejemplo, si cambian las imágenes o la pantalla)
+    private void invalidateBackdrops() {
+        titleBackLayer = titleFrontLayer = titleTextLayer = selectionBackdrop = null;
     }
 
     private void drawMountains(Graphics2D g2d) {
         // Montañas grandes al fondo
-        g2d.setColor(new Color(80, 80, 80, 180));
+        g2d.setColor(RenderResources.color(80, 80, 80, 180));
         int[] mountain1 = {0, 400, 800, 0};
         int[] mountain1y = {HEIGHT, 200, HEIGHT, HEIGHT};
         g2d.fillPolygon(mountain1, mountain1y, 4);
 
-        g2d.setColor(new Color(90, 90, 90, 200));
+        g2d.setColor(RenderResources.color(90, 90, 90, 200));
         int[] mountain2 = {600, 1000, 1400, 600};
         int[] mountain2y = {HEIGHT, 250, HEIGHT, HEIGHT};
         g2d.fillPolygon(mountain2, mountain2y, 4);
@@ -430,10 +548,10 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
 
     private void drawCastles(Graphics2D g2d) {
         if (assets.castle != null) {
-            g2d.drawImage(assets.castle, 100, GROUND_Y - 300, 250, 300, null);
-            g2d.drawImage(assets.castle, WIDTH - 350, GROUND_Y - 280, 250, 280, null);
+            g2d.drawImage(assets.getSprite(assets.castle, 250, 300), 100, GROUND_Y - 300, null);
+            g2d.drawImage(assets.getSprite(assets.castle, 250, 280), WIDTH - 350, GROUND_Y - 280, null);
         } else {
-            g2d.setColor(new Color(169, 169, 169));
+            g2d.setColor(RenderResources.color(169, 169, 169));
             g2d.fillRect(100, GROUND_Y - 300, 200, 300);
             g2d.fillRect(WIDTH - 300, GROUND_Y - 280, 200, 280);
         }
@@ -441,17 +559,17 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
 
     private void drawGround(Graphics2D g2d) {
         // Suelo principal
-        g2d.setColor(new Color(139, 69, 19));
+        g2d.setColor(RenderResources.color(139, 69, 19));
         g2d.fillRect(0, GROUND_Y, WIDTH, HEIGHT - GROUND_Y);
 
         // Textura del suelo
-        g2d.setColor(new Color(160, 82, 45));
+        g2d.setColor(RenderResources.color(160, 82, 45));
         for (int i = 0; i < WIDTH; i += 40) {
             g2d.fillRect(i, GROUND_Y, 20, HEIGHT - GROUND_Y);
         }
 
         // Hierba en el borde
-        g2d.setColor(new Color(34, 139, 34));
+        g2d.setColor(RenderResources.color(34, 139, 34));
         for (int i = 0; i < WIDTH; i += 20) {
             int grassHeight = 10 + (i % 40) / 2;
             g2d.fillRect(i, GROUND_Y - grassHeight, 15, grassHeight);
@@ -459,59 +577,44 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
     }
 
     private void drawRunningCharacters(Graphics2D g2d) {
-        CharacterType[] characters = CharacterType.values();
+        CharacterInfo[] characters = paradeCharacters;
 
         for (int i = 0; i < characters.length; i++) {
             int x = characterPositions[i];
             int y = GROUND_Y - 150;
 
             // OBTENER FRAMES DE ANIMACIÓN - ¡ESTO ES LO IMPORTANTE!
-            BufferedImage[] frames = assets.getCharacterFrames(characters[i]);
-
-            if (frames != null && frames.length > 1) {
-                // Usar animación basada en la posición del personaje
-                // Cada personaje tiene su propia animación sincronizada con su movimiento
-                int animationIndex = (characterPositions[i] / 30) % 2;
-                BufferedImage currentFrame = frames[animationIndex];
+            // (solo los ya cargados: el desfile no dispara cargas en cada frame)
+            SpriteAnimations animations = assets.peekCharacterAnimations(characters[i]);
+            if (animations == null) {
+                animations = assets.getPlaceholderAnimations(characters[i]);
+            }
 
-                int drawWidth = 120;
-                int drawHeight = 120;
+            // Todos caminan con el mismo reloj, cada uno desfasado para que no pisen a la vez
+            // (hacia la izquierda viene la copia espejada que se armó al cargar)
+            BufferedImage currentFrame = animations.getFrame(AnimationType.WALK, titleClock.getTicks() + i * 7L,
+                    characterDirections[i]);
 
-                if (characterDirections[i]) {
-                    // Mueve hacia la derecha - imagen normal
-                    g2d.drawImage(currentFrame, x, y, drawWidth, drawHeight, null);
-                } else {
-                    // Mueve hacia la izquierda - voltear horizontalmente
-                    g2d.drawImage(currentFrame, x + drawWidth, y, -drawWidth, drawHeight, null);
-                }
-            } else {
-                // Fallback a imagen estática
-                BufferedImage charImage = assets.getCharacterTitleImage(characters[i]);
-                int drawWidth = 120;
-                int drawHeight = 120;
+            int drawWidth = 120;
+            int drawHeight = 120;
 
-                if (characterDirections[i]) {
-                    g2d.drawImage(charImage, x, y, drawWidth, drawHeight, null);
-                } else {
-                    g2d.drawImage(charImage, x + drawWidth, y, -drawWidth, drawHeight, null);
-                }
-            }
+            g2d.drawImage(assets.getSprite(currentFrame, drawWidth, drawHeight), x, y, null);
 
             // Sombra del personaje
-            g2d.setColor(new Color(0, 0, 0, 100));
+            g2d.setColor(RenderResources.color(0, 0, 0, 100));
             g2d.fillOval(x + 20, GROUND_Y - 20, 80, 30);
 
             // Nombre del personaje
             g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Arial", Font.BOLD, 14));
+            g2d.setFont(RenderResources.font(Font.BOLD, 14));
             g2d.drawString(characters[i].getName(), x + 30, y - 10);
         }
     }
 
     private void drawMainTitle(Graphics2D g2d) {
         // Sombra del título
-        g2d.setColor(new Color(0, 0, 0, 150));
-        g2d.setFont(new Font("Arial", Font.BOLD, 100));
+        g2d.setColor(RenderResources.color(0, 0, 0, 150));
+        g2d.setFont(RenderResources.font(Font.BOLD, 100));
 
         String title = "MARIO VS HONGOS";
         FontMetrics fm = g2d.getFontMetrics();
@@ -525,35 +628,28 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
         }
 
         // Título principal con gradiente
-        GradientPaint titleGradient = new GradientPaint(
+        g2d.setPaint(new GradientPaint(
                 titleX, titleY - 50, Color.RED,
                 titleX + titleWidth, titleY + 50, Color.YELLOW
-        );
-        g2d.setPaint(titleGradient);
+        ));
         g2d.drawString(title, titleX, titleY);
 
         // Borde del título
         g2d.setColor(Color.YELLOW);
-        g2d.setStroke(new BasicStroke(3));
+        g2d.setStroke(RenderResources.stroke(3));
         g2d.drawString(title, titleX, titleY);
 
         // Subtítulo
         g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 40));
+        g2d.setFont(RenderResources.font(Font.BOLD, 40));
         String subtitle = "¡LA BATALLA ÉPICA!";
-        int subtitleWidth = g2d.getFontMetrics().stringWidth(subtitle);
+        subtitleWidth = g2d.getFontMetrics().stringWidth(subtitle);
         g2d.drawString(subtitle, (WIDTH - subtitleWidth) / 2, 250);
-
-        // Efecto de brillo intermitente
-        if (blinkTimer < 10) {
-            g2d.setColor(new Color(255, 255, 100, 150));
-            g2d.fillRoundRect((WIDTH - subtitleWidth) / 2 - 20, 210, subtitleWidth + 40, 50, 25, 25);
-        }
     }
 
     private void drawInstructions(Graphics2D g2d) {
         g2d.setColor(Color.CYAN);
-        g2d.setFont(new Font("Arial", Font.BOLD, 30));
+        g2d.setFont(RenderResources.font(Font.BOLD, 30));
 
         String pressEnter = "PRESIONA ENTER PARA COMENZAR";
         int textWidth = g2d.getFontMetrics().stringWidth(pressEnter);
@@ -561,102 +657,128 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
         int textY = HEIGHT - 150;
 
         // Fondo para el texto
-        g2d.setColor(new Color(0, 0, 0, 100));
+        g2d.setColor(RenderResources.color(0, 0, 0, 100));
         g2d.fillRoundRect(textX - 20, textY - 35, textWidth + 40, 50, 25, 25);
 
         // Texto con efecto de brillo
-        GradientPaint textGradient = new GradientPaint(
-                textX, textY - 10, Color.CYAN,
-                textX + textWidth, textY + 10, Color.WHITE
-        );
-        g2d.setPaint(textGradient);
+        if (instructionsGradient == null) {
+            instructionsGradient = new GradientPaint(
+                    textX, textY - 10, Color.CYAN,
+                    textX + textWidth, textY + 10, Color.WHITE
+            );
+        }
+        g2d.setPaint(instructionsGradient);
         g2d.drawString(pressEnter, textX, textY);
 
         // Instrucciones adicionales
         g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.PLAIN, 20));
+        g2d.setFont(RenderResources.font(Font.PLAIN, 20));
         g2d.drawString("Selecciona tu personaje favorito para la batalla", WIDTH/2 - 200, HEIGHT - 100);
     }
 
     private void drawCredits(Graphics2D g2d) {
-        g2d.setColor(new Color(200, 200, 255, 150));
-        g2d.setFont(new Font("Arial", Font.PLAIN, 16));
+        g2d.setColor(RenderResources.color(200, 200, 255, 150));
+        g2d.setFont(RenderResources.font(Font.PLAIN, 16));
         g2d.drawString("© 2026 - Mario vs Hongos - Todos los derechos reservados", WIDTH/2 - 200, HEIGHT - 30);
     }
 
     private void drawCharacterSelection(Graphics2D g2d) {
-        // Fondo similar al título
-        drawTitleScreenBackground(g2d);
-
-        // Título de selección
-        g2d.setColor(Color.YELLOW);
-        g2d.setFont(new Font("Arial", Font.BOLD, 60));
-        String selectText = "SELECCIONA TU PERSONAJE";
-        int textWidth = g2d.getFontMetrics().stringWidth(selectText);
-        g2d.drawString(selectText, WIDTH/2 - textWidth/2, 80);
-
-        CharacterType[] characters = CharacterType.values();
-        int startX = WIDTH/2 - (characters.length * 220) / 2;
+        // Fondo similar al título (cielo, estrellas y título ya dibujados)
+        if (selectionBackdrop == null) {
+            bakeSelectionBackdrop();
+        }
+        g2d.drawImage(selectionBackdrop, 0, 0, null);
+        drawTwinklingStars(g2d);
+
+        // Carrusel: solo se dibujan las tarjetas que entran en pantalla
+        int total = characterRegistry.size();
+        int firstVisible = getFirstVisibleCard();
+        int visibleCount = Math.min(VISIBLE_CARDS, total);
+        int startX = WIDTH/2 - (visibleCount * CARD_SPACING) / 2;
         int y = 200;
 
-        for (int i = 0; i < characters.length; i++) {
-            CharacterType character = characters[i];
-
+        for (int slot = 0; slot < visibleCount; slot++) {
+            int i = firstVisible + slot;
+            CharacterInfo character = characterRegistry.get(i);
+            int cardX = startX + slot * CARD_SPACING;
             // Marco del personaje seleccionado con efectos
             if (i == characterSelectIndex) {
                 g2d.setColor(Color.YELLOW);
-                g2d.setStroke(new BasicStroke(6));
-                g2d.drawRoundRect(startX + i * 220 - 15, y - 15, 220 + 30, 220 + 30, 25, 25);
+                g2d.setStroke(RenderResources.stroke(6));
+                g2d.drawRoundRect(cardX - 15, y - 15, 220 + 30, 220 + 30, 25, 25);
 
-                g2d.setColor(new Color(255, 255, 100, 80));
+                g2d.setColor(RenderResources.color(255, 255, 100, 80));
                 for (int j = 0; j < 3; j++) {
-                    g2d.drawRoundRect(startX + i * 220 - 10 + j, y - 10 + j,
+                    g2d.drawRoundRect(cardX - 10 + j, y - 10 + j,
                             220 + 20 - j*2, 220 + 20 - j*2, 20, 20);
                 }
 
-                g2d.setColor(new Color(255, 255, 100, 30));
-                g2d.fillRoundRect(startX + i * 220 - 10, y - 10, 220 + 20, 220 + 20, 20, 20);
+                g2d.setColor(RenderResources.color(255, 255, 100, 30));
+                g2d.fillRoundRect(cardX - 10, y - 10, 220 + 20, 220 + 20, 20, 20);
             }
 
-            // Dibujar personaje con animación
-            BufferedImage[] frames = assets.getCharacterFrames(character);
-            if (frames != null && frames.length > 0) {
+            // Dibujar personaje con animación (si todavía no cargó, el recuadro de color)
+            SpriteAnimations animations = assets.peekCharacterAnimations(character,
+                    i == characterSelectIndex ? selectedSkin : SkinType.ORIGINAL);
+            if (animations != null) {
                 // Animación de selección
-                BufferedImage frame = (titleAnimationFrame < 4) ? frames[0] : frames[1];
-                g2d.drawImage(frame, startX + i * 220, y, 200, 200, null);
+                BufferedImage frame = animations.getFrame(AnimationType.WALK, titleClock.getTicks());
+                g2d.drawImage(assets.getSprite(frame, 200, 200), cardX, y, null);
             } else {
-                g2d.setColor(getCharacterColor(character));
-                g2d.fillRoundRect(startX + i * 220, y, 200, 200, 20, 20);
+                g2d.setColor(character.getColor());
+                g2d.fillRoundRect(cardX, y, 200, 200, 20, 20);
                 g2d.setColor(Color.WHITE);
-                g2d.setFont(new Font("Arial", Font.BOLD, 24));
-                drawCenteredString(g2d, character.getName(),
-                        new Rectangle(startX + i * 220, y, 200, 200));
+                g2d.setFont(RenderResources.font(Font.BOLD, 24));
+                drawCenteredString(g2d, character.getName(), cardX, y, 200, 200);
             }
 
             // Nombre del personaje
             g2d.setColor(i == characterSelectIndex ? Color.YELLOW : Color.WHITE);
-            g2d.setFont(new Font("Arial", Font.BOLD, 22));
+            g2d.setFont(RenderResources.font(Font.BOLD, 22));
             String name = character.getName();
             int nameWidth = g2d.getFontMetrics().stringWidth(name);
-            g2d.drawString(name, startX + i * 220 + (200 - nameWidth)/2, y + 240);
+            g2d.drawString(name, cardX + (200 - nameWidth)/2, y + 240);
 
             // Indicador de selección
             if (i == characterSelectIndex && blinkTimer < 20) {
                 g2d.setColor(Color.GREEN);
-                g2d.setFont(new Font("Arial", Font.BOLD, 18));
+                g2d.setFont(RenderResources.font(Font.BOLD, 18));
                 String selectedText = "← SELECCIONADO →";
                 int selWidth = g2d.getFontMetrics().stringWidth(selectedText);
-                g2d.drawString(selectedText, startX + i * 220 + (200 - selWidth)/2, y + 270);
+                g2d.drawString(selectedText, cardX + (200 - selWidth)/2, y + 270);
             }
         }
 
+        // Skin elegida (se aplica a la tarjeta seleccionada)
+        g2d.setColor(Color.CYAN);
+        g2d.setFont(RenderResources.font(Font.BOLD, 20));
+        int skinWidth = g2d.getFontMetrics().stringWidth(skinLabel);
+        g2d.drawString(skinLabel, WIDTH/2 - skinWidth/2, 130);
+
+        // Flechas si hay más personajes a los costados, y posición en la lista
+        if (total > visibleCount) {
+            g2d.setColor(Color.YELLOW);
+            g2d.setFont(RenderResources.font(Font.BOLD, 48));
+            if (firstVisible > 0) {
+                g2d.drawString("◀", startX - 70, y + 120);
+            }
+            if (firstVisible + visibleCount < total) {
+                g2d.drawString("▶", startX + visibleCount * CARD_SPACING + 10, y + 120);
+            }
+            g2d.setColor(Color.WHITE);
+            g2d.setFont(RenderResources.font(Font.BOLD, 18));
+            String position = selectionPosition.get(characterSelectIndex + 1);
+            int positionWidth = g2d.getFontMetrics().stringWidth(position);
+            g2d.drawString(position, WIDTH/2 - positionWidth/2, y - 40);
+        }
+
         // Instrucciones con parpadeo
         if (blinkTimer < 30) {
             g2d.setColor(Color.CYAN);
-            g2d.setFont(new Font("Arial", Font.BOLD, 28));
+            g2d.setFont(RenderResources.font(Font.BOLD, 28));
 
             String[] instructions = {
-                    "Usa ← → para seleccionar",
+                    "Usa ← → para elegir y ↑ ↓ para la skin",
                     "Presiona ENTER para jugar",
                     "ESC para volver al título"
             };
@@ -668,76 +790,103 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
         }
 
         // Descripción del personaje seleccionado
-        drawCharacterDescription(g2d, characters[characterSelectIndex]);
+        drawCharacterDescription(g2d, characterRegistry.get(characterSelectIndex));
     }
 
-    private void drawTitleScreenBackground(Graphics2D g2d) {
-        GradientPaint skyGradient = new GradientPaint(
-                0, 0, new Color(30, 30, 70),
-                0, HEIGHT, Color.BLACK
-        );
-        g2d.setPaint(skyGradient);
-        g2d.fillRect(0, 0, WIDTH, HEIGHT);
+    // Primera tarjeta visible: el seleccionado queda centrado salvo en los extremos de la lista
+    private int getFirstVisibleCard() {
+        int total = characterRegistry.size();
+        int first = characterSelectIndex - VISIBLE_CARDS / 2;
+        return Math.max(0, Math.min(first, total - VISIBLE_CARDS));
+    }
 
-        // Estrellas
-        g2d.setColor(Color.WHITE);
-        for (int i = 0; i < 50; i++) {
-            int x = rand.nextInt(WIDTH);
-            int y = rand.nextInt(400);
-            int size = 1 + rand.nextInt(3);
-            g2d.fillOval(x, y, size, size);
-
-            if (rand.nextFloat() < 0.3 && blinkTimer < 20) {
-                g2d.setColor(new Color(255, 255, 255, 100 + rand.nextInt(155)));
-                g2d.fillOval(x - 1, y - 1, size + 2, size + 2);
-                g2d.setColor(Color.WHITE);
+    // Genera siempre el mismo cielo; ~30% de las estrellas titilan con su propia fase
+    private void initStarfield() {
+        Random starRand = new Random(2026);
+        for (int i = 0; i < STAR_COUNT; i++) {
+            starX[i] = starRand.nextInt(WIDTH);
+            starY[i] = starRand.nextInt(400);
+            starSize[i] = 1 + starRand.nextInt(3);
+
+            if (starRand.nextFloat() < 0.3) {
+                Color[] table = new Color[TWINKLE_PHASES];
+                int phase = starRand.nextInt(TWINKLE_PHASES);
+                for (int t = 0; t < TWINKLE_PHASES; t++) {
+                    double wave = 0.5 + 0.5 * Math.sin(2 * Math.PI * (t + phase) / TWINKLE_PHASES);
+                    table[t] = RenderResources.color(255, 255, 255, 100 + (int) (155 * wave));
+                }
+                starTwinkle[i] = table;
             }
         }
     }
 
-    private void drawCharacterDescription(Graphics2D g2d, CharacterType character) {
-        String description = getCharacterDescription(character);
-        g2d.setColor(new Color(200, 200, 255));
-        g2d.setFont(new Font("Arial", Font.PLAIN, 18));
+    private void bakeSelectionBackdrop() {
+        selectionBackdrop = createLayer(false);
+        Graphics2D g2d = selectionBackdrop.createGraphics();
+        applyQualityHints(g2d);
 
-        g2d.setColor(new Color(0, 0, 0, 150));
-        g2d.fillRoundRect(WIDTH/2 - 300, 620, 600, 100, 20, 20);
+        g2d.setPaint(NIGHT_SKY_GRADIENT);
+        g2d.fillRect(0, 0, WIDTH, HEIGHT);
 
+        // Estrellas
         g2d.setColor(Color.WHITE);
-        drawCenteredString(g2d, description, new Rectangle(WIDTH/2 - 300, 620, 600, 100));
+        for (int i = 0; i < STAR_COUNT; i++) {
+            g2d.fillOval(starX[i], starY[i], starSize[i], starSize[i]);
+        }
+
+        // Título de selección
+        g2d.setColor(Color.YELLOW);
+        g2d.setFont(RenderResources.font(Font.BOLD, 60));
+        String selectText = "SELECCIONA TU PERSONAJE";
+        int textWidth = g2d.getFontMetrics().stringWidth(selectText);
+        g2d.drawString(selectText, WIDTH/2 - textWidth/2, 80);
+        g2d.dispose();
     }
 
-    private String getCharacterDescription(CharacterType character) {
-        switch (character) {
-            case MARIO: return "El fontanero más famoso del mundo. ¡Su salto es legendario!";
-            case PEPPA: return "La cerdita más aventurera. ¡Saltar en charcos es su especialidad!";
-            case HOMERO: return "¡D'oh! El padre de familia más torpe pero con gran corazón (y hambre).";
-            case JOHN_WICK: return "El asesino más letal. Nadie toca a su perro... ¡ni a sus hongos!";
-            case EMPANADA: return "La empanada más gaucha del mundo. ¡Es pura tradición y sabor!";
-            default: return "Un valiente héroe listo para la batalla.";
+    // Solo el brillo de las estrellas que titilan se dibuja en cada frame
+    private void drawTwinklingStars(Graphics2D g2d) {
+        if (blinkTimer >= 20) return;
+
+        for (int i = 0; i < STAR_COUNT; i++) {
+            Color[] table = starTwinkle[i];
+            if (table == null) continue;
+            g2d.setColor(table[blinkTimer]);
+            g2d.fillOval(starX[i] - 1, starY[i] - 1, starSize[i] + 2, starSize[i] + 2);
         }
     }
 
-    private Color getCharacterColor(CharacterType character) {
-        switch (character) {
-            case MARIO: return Color.RED;
-            case PEPPA: return new Color(255, 182, 193);
-            case HOMERO: return Color.YELLOW;
-            case JOHN_WICK: return new Color(50, 50, 50);
-            case EMPANADA: return new Color(160, 82, 45);
-            default: return Color.BLUE;
-        }
+    private void drawCharacterDescription(Graphics2D g2d, CharacterInfo character) {
+        String description = character.getDescription();
+        g2d.setColor(RenderResources.color(200, 200, 255));
+        g2d.setFont(RenderResources.font(Font.PLAIN, 18));
+
+        g2d.setColor(RenderResources.color(0, 0, 0, 150));
+        g2d.fillRoundRect(WIDTH/2 - 300, 620, 600, 100, 20, 20);
+
+        g2d.setColor(Color.WHITE);
+        drawCenteredString(g2d, description, WIDTH/2 - 300, 620, 600, 100);
     }
 
     private void drawGame(Graphics2D g2d) {
+        Player player = world.getPlayer();
+
+        // La cámara sigue la posición interpolada del jugador
+        if (player != null) {
+            cameraX = player.getRenderX(renderAlpha) - WIDTH / 2;
+            cameraX = Math.max(0, Math.min(cameraX, WORLD_WIDTH - WIDTH));
+        }
+
         // Aplicar transformación de cámara
         g2d.translate(-cameraX, 0);
 
         // Dibujar mundo
+        long start = System.nanoTime();
         drawWorld(g2d);
+        long worldDone = System.nanoTime();
 
         // Dibujar entidades
         drawEntities(g2d);
+        long entitiesDone = System.nanoTime();
 
         // Restaurar transformación
         g2d.translate(cameraX, 0);
@@ -746,103 +895,145 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
         drawHUD(g2d);
 
         // Dibujar mensaje de oleada
-        if (waveMessageTimer > 0) {
+        if (world.getWaveMessageTimer() > 0) {
             drawWaveMessage(g2d);
         }
+
+        perfStats.record(FramePhase.WORLD, worldDone - start);
+        perfStats.record(FramePhase.ENTITIES, entitiesDone - worldDone);
+        perfStats.record(FramePhase.HUD, System.nanoTime() - entitiesDone);
     }
 
     private void drawWorld(Graphics2D g2d) {
+        Environment environment = world.getEnvironment();
+
+        // Solo lo que se solapa con la cámara
+        Environment.VisibleLayers visible = environment.queryVisible(cameraX, WIDTH);
+
         // Cielo
-        g2d.setColor(new Color(135, 206, 235));
-        g2d.fillRect(cameraX, 0, WORLD_WIDTH, HEIGHT);
+        g2d.setColor(RenderResources.color(135, 206, 235));
+        g2d.fillRect(cameraX, 0, WIDTH, HEIGHT);
 
         // Sol
-        if (assets.sun != null) {
-            g2d.drawImage(assets.sun, WORLD_WIDTH - 200, 50, 100, 100, null);
+        if (assets.sun != null && isOnCamera(WORLD_WIDTH - 200, 100)) {
+            g2d.drawImage(assets.getSprite(assets.sun, 100, 100), WORLD_WIDTH - 200, 50, null);
         }
 
         // Nubes del entorno
         if (assets.cloud != null) {
-            for (Rectangle cloud : environment.getClouds()) {
-                g2d.drawImage(assets.cloud, cloud.x, cloud.y, cloud.width, cloud.height, null);
+            int cloudOffset = environment.getCloudRenderOffset(renderAlpha);
+            for (Rectangle cloud : visible.getClouds()) {
+                g2d.drawImage(assets.getSprite(assets.cloud, cloud.width, cloud.height),
+                        cloud.x + cloudOffset, cloud.y, null);
             }
         }
 
         // Montañas del entorno
         if (assets.mountain != null) {
-            for (Rectangle mountain : environment.getMountains()) {
-                g2d.drawImage(assets.mountain, mountain.x, mountain.y,
-                        mountain.width, mountain.height, null);
+            for (Rectangle mountain : visible.getMountains()) {
+                g2d.drawImage(assets.getSprite(assets.mountain, mountain.width, mountain.height),
+                        mountain.x, mountain.y, null);
             }
         }
 
         // Castillos del entorno
         if (assets.castle != null) {
-            for (Rectangle castle : environment.getCastles()) {
-                g2d.drawImage(assets.castle, castle.x, castle.y,
-                        castle.width, castle.height, null);
+            for (Rectangle castle : visible.getCastles()) {
+                g2d.drawImage(assets.getSprite(assets.castle, castle.width, castle.height),
+                        castle.x, castle.y, null);
             }
         }
 
         // Árboles del entorno
         if (assets.tree != null) {
-            for (Rectangle tree : environment.getTrees()) {
-                g2d.drawImage(assets.tree, tree.x, GROUND_Y - tree.height,
-                        tree.width, tree.height, null);
+            for (Rectangle tree : visible.getTrees()) {
+                g2d.drawImage(assets.getSprite(assets.tree, tree.width, tree.height),
+                        tree.x, tree.y, null);
             }
         }
 
-        // Suelo del entorno
+        // Suelo del entorno (solo las baldosas dentro de la cámara)
         if (assets.ground != null) {
             int tileWidth = assets.ground.getWidth();
-            for (int x = 0; x < WORLD_WIDTH; x += tileWidth) {
-                g2d.drawImage(assets.ground, x, GROUND_Y, tileWidth, 50, null);
+            BufferedImage groundTile = assets.getSprite(assets.ground, tileWidth, 50);
+            int firstTile = (cameraX / tileWidth) * tileWidth;
+            int lastX = Math.min(WORLD_WIDTH, cameraX + WIDTH);
+            for (int x = firstTile; x < lastX; x += tileWidth) {
+                g2d.drawImage(groundTile, x, GROUND_Y, null);
             }
         } else {
-            g2d.setColor(new Color(139, 69, 19));
-            g2d.fillRect(0, GROUND_Y, WORLD_WIDTH, 50);
+            g2d.setColor(RenderResources.color(139, 69, 19));
+            g2d.fillRect(cameraX, GROUND_Y, WIDTH, 50);
         }
     }
 
+    private boolean isOnCamera(int x, int width) {
+        return x + width > cameraX && x < cameraX + WIDTH;
+    }
+
     private void drawEntities(Graphics2D g2d) {
+        Player player = world.getPlayer();
+        EntityStore entities = world.getEntities();
+        Archetype enemies = entities.getEnemies();
+        Archetype bullets = entities.getBullets();
+        Boss boss = world.getBoss();
+
+        long animationTicks = world.getAnimationClock().getTicks();
+
         // Enemigos
-        for (Enemy enemy : enemies) {
-            if (assets.mushroom != null) {
-                g2d.drawImage(assets.mushroom, enemy.getRect().x, enemy.getRect().y,
-                        enemy.getRect().width, enemy.getRect().height, null);
+        SpriteAnimations enemyAnimations = assets.getEnemyAnimations();
+        for (int i = 0; i < enemies.size(); i++) {
+            int width = enemies.getWidth(i);
+            int height = enemies.getHeight(i);
+            int x = enemies.getRenderX(i, renderAlpha);
+            int y = enemies.getRenderY(i, renderAlpha);
+            if (!isOnCamera(x, width)) continue;
+
+            if (enemyAnimations != null) {
+                BufferedImage frame = enemyAnimations.getFrame(AnimationType.WALK, animationTicks - enemies.getAnimationStart(i));
+                g2d.drawImage(assets.getSprite(frame, width, height), x, y, null);
             } else {
                 g2d.setColor(Color.RED);
-                g2d.fillRect(enemy.getRect().x, enemy.getRect().y,
-                        enemy.getRect().width, enemy.getRect().height);
+                g2d.fillRect(x, y, width, height);
             }
         }
 
         // Boss
         if (boss != null && boss.isAlive()) {
-            if (assets.boss != null) {
-                g2d.drawImage(assets.boss, boss.getRect().x, boss.getRect().y,
-                        boss.getRect().width, boss.getRect().height, null);
-            } else {
-                g2d.setColor(Color.GRAY);
-                g2d.fillRect(boss.getRect().x, boss.getRect().y,
-                        boss.getRect().width, boss.getRect().height);
-            }
+            Rectangle r = boss.getRect();
+            int x = boss.getRenderX(renderAlpha);
+            int y = boss.getRenderY(renderAlpha);
+
+            if (isOnCamera(x, r.width)) {
+                SpriteAnimations bossAnimations = assets.getBossAnimations();
+                if (bossAnimations != null) {
+                    BufferedImage frame = bossAnimations.getFrame(AnimationType.WALK, animationTicks - boss.getAnimationStart());
+                    g2d.drawImage(assets.getSprite(frame, r.width, r.height), x, y, null);
+                } else {
+                    g2d.setColor(Color.GRAY);
+                    g2d.fillRect(x, y, r.width, r.height);
+                }
 
-            // Barra de salud del boss
-            drawHealthBar(g2d, boss.getRect().x, boss.getRect().y - 20,
-                    boss.getRect().width, 15, boss.getHealth(), 10);
+                // Barra de salud del boss
+                drawHealthBar(g2d, x, y - 20, r.width, 15, boss.getHealth(), BOSS_MAX_HEALTH);
+            }
         }
 
         // Balas
         g2d.setColor(Color.ORANGE);
-        for (Bullet bullet : bullets) {
-            g2d.fillRect(bullet.getRect().x, bullet.getRect().y,
-                    bullet.getRect().width, bullet.getRect().height);
+        for (int i = 0; i < bullets.size(); i++) {
+            int width = bullets.getWidth(i);
+            int x = bullets.getRenderX(i, renderAlpha);
+            if (!isOnCamera(x, width)) continue;
+            g2d.fillRect(x, bullets.getY(i), width, bullets.getHeight(i));
         }
 
         // Jugador
         if (player != null) {
-            Rectangle rect = player.getRect();
+            // Posición interpolada entre el tick anterior y el actual
+            Rectangle rect = playerRenderRect;
+            rect.setBounds(player.getRenderX(renderAlpha), player.getRenderY(renderAlpha),
+                    player.getRect().width, player.getRect().height);
 
             boolean shouldDraw = !player.isInvulnerable() ||
                     (player.isInvulnerable() && (player.getInvulnerabilityTimer() / 10) % 2 == 0);
@@ -851,23 +1042,19 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
                 BufferedImage currentFrame = player.getCurrentFrame();
 
                 if (currentFrame != null) {
-                    if (player.isFacingRight()) {
-                        g2d.drawImage(currentFrame, rect.x, rect.y, rect.width, rect.height, null);
-                    } else {
-                        g2d.drawImage(currentFrame, rect.x + rect.width, rect.y,
-                                -rect.width, rect.height, null);
-                    }
+                    // El frame ya está orientado según facingRight
+                    g2d.drawImage(assets.getSprite(currentFrame, rect.width, rect.height), rect.x, rect.y, null);
                 } else {
                     g2d.setColor(player.isInvulnerable() ?
-                            new Color(255, 255, 0, 180) : Color.BLUE);
+                            RenderResources.color(255, 255, 0, 180) : Color.BLUE);
                     g2d.fillRect(rect.x, rect.y, rect.width, rect.height);
 
-                    g2d.setColor(player.isInvulnerable() ? Color.YELLOW : Color.BLUE.darker());
+                    g2d.setColor(player.isInvulnerable() ? Color.YELLOW : PLAYER_OUTLINE);
                     g2d.drawRect(rect.x, rect.y, rect.width, rect.height);
                 }
 
                 // Sombra del jugador
-                g2d.setColor(new Color(0, 0, 0, 100));
+                g2d.setColor(RenderResources.color(0, 0, 0, 100));
                 g2d.fillOval(rect.x + 20, rect.y + rect.height - 10, 60, 20);
             }
         }
@@ -891,8 +1078,8 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
 
         // Texto de salud
         g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 12));
-        String healthText = current + "/" + max;
+        g2d.setFont(RenderResources.font(Font.BOLD, 12));
+        String healthText = max == BOSS_MAX_HEALTH ? healthLabel.get(current) : current + "/" + max;
         int textWidth = g2d.getFontMetrics().stringWidth(healthText);
         g2d.drawString(healthText, x + (width - textWidth) / 2, y + height - 3);
 
@@ -902,27 +1089,31 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
     }
 
     private void drawHUD(Graphics2D g2d) {
+        int score = world.getScore();
+        int lives = world.getLives();
+        int enemyWaveCount = world.getEnemyWaveCount();
+
         // Fondo semi-transparente redondeado
-        g2d.setColor(new Color(0, 0, 0, 180));
+        g2d.setColor(RenderResources.color(0, 0, 0, 180));
         g2d.fillRoundRect(15, 15, 350, 130, 20, 20);
 
         // Borde del HUD
-        g2d.setColor(new Color(255, 255, 255, 100));
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setColor(RenderResources.color(255, 255, 255, 100));
+        g2d.setStroke(RenderResources.stroke(2));
         g2d.drawRoundRect(15, 15, 350, 130, 20, 20);
 
         // Información del juego
         g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 28));
-        g2d.drawString("PUNTUACIÓN: " + score, 30, 50);
-        g2d.drawString("OLEADA: " + enemyWaveCount, 30, 85);
+        g2d.setFont(RenderResources.font(Font.BOLD, 28));
+        g2d.drawString(scoreLabel.get(score), 30, 50);
+        g2d.drawString(waveLabel.get(enemyWaveCount), 30, 85);
         g2d.drawString("VIDAS: ", 30, 120);
 
         // Dibujar corazones para las vidas
         int heartX = 130;
         for (int i = 0; i < lives; i++) {
             if (assets.heart != null) {
-                g2d.drawImage(assets.heart, heartX + i * 40, 95, 35, 35, null);
+                g2d.drawImage(assets.getSprite(assets.heart, 35, 35), heartX + i * 40, 95, null);
             } else {
                 g2d.setColor(Color.RED);
                 g2d.fillOval(heartX + i * 40, 95, 30, 30);
@@ -932,25 +1123,28 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
         }
 
         // Controles
-        g2d.setColor(new Color(200, 200, 255, 200));
-        g2d.setFont(new Font("Arial", Font.PLAIN, 16));
+        g2d.setColor(RenderResources.color(200, 200, 255, 200));
+        g2d.setFont(RenderResources.font(Font.PLAIN, 16));
         g2d.drawString("Controles: ← → Mover | SPACE Saltar | Z Disparar | P Pausa | ESC Menú", 20, HEIGHT - 20);
     }
 
     private void drawWaveMessage(Graphics2D g2d) {
+        String waveMessage = world.getWaveMessage();
+        int waveMessageTimer = world.getWaveMessageTimer();
+
         int alpha = Math.min(200, waveMessageTimer * 2);
-        g2d.setColor(new Color(0, 0, 0, alpha));
+        g2d.setColor(RenderResources.color(0, 0, 0, alpha));
         g2d.fillRoundRect(WIDTH/2 - 250, 120, 500, 70, 35, 35);
 
-        g2d.setColor(new Color(255, 255, 100, alpha));
-        g2d.setStroke(new BasicStroke(3));
+        g2d.setColor(RenderResources.color(255, 255, 100, alpha));
+        g2d.setStroke(RenderResources.stroke(3));
         g2d.drawRoundRect(WIDTH/2 - 250, 120, 500, 70, 35, 35);
 
         if (waveMessageTimer % 20 < 15) {
             g2d.setColor(Color.YELLOW);
-            g2d.setFont(new Font("Arial", Font.BOLD, 36));
+            g2d.setFont(RenderResources.font(Font.BOLD, 36));
 
-            g2d.setColor(new Color(0, 0, 0, 150));
+            g2d.setColor(RenderResources.color(0, 0, 0, 150));
             g2d.drawString(waveMessage, WIDTH/2 - 240 + 2, 170 + 2);
 
             g2d.setColor(Color.YELLOW);
@@ -959,128 +1153,154 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
     }
 
     private void drawGameOver(Graphics2D g2d) {
-        g2d.setColor(new Color(0, 0, 0, 220));
+        Player player = world.getPlayer();
+        int score = world.getScore();
+
+        g2d.setColor(RenderResources.color(0, 0, 0, 220));
         g2d.fillRect(0, 0, WIDTH, HEIGHT);
 
-        g2d.setColor(new Color(50, 50, 50, 200));
+        g2d.setColor(RenderResources.color(50, 50, 50, 200));
         g2d.fillRoundRect(WIDTH/2 - 400, HEIGHT/2 - 200, 800, 400, 40, 40);
 
         g2d.setColor(Color.RED);
-        g2d.setStroke(new BasicStroke(6));
+        g2d.setStroke(RenderResources.stroke(6));
         g2d.drawRoundRect(WIDTH/2 - 400, HEIGHT/2 - 200, 800, 400, 40, 40);
 
-        g2d.setFont(new Font("Arial", Font.BOLD, 80));
+        g2d.setFont(RenderResources.font(Font.BOLD, 80));
 
-        g2d.setColor(new Color(0, 0, 0, 150));
+        g2d.setColor(RenderResources.color(0, 0, 0, 150));
         g2d.drawString("GAME OVER", WIDTH/2 - 230, HEIGHT/2 - 80);
 
-        GradientPaint gameOverGradient = new GradientPaint(
-                WIDTH/2 - 230, HEIGHT/2 - 130, Color.RED,
-                WIDTH/2 + 230, HEIGHT/2 - 50, new Color(139, 0, 0)
-        );
-        g2d.setPaint(gameOverGradient);
+        g2d.setPaint(GAME_OVER_GRADIENT);
         g2d.drawString("GAME OVER", WIDTH/2 - 232, HEIGHT/2 - 82);
 
         g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 40));
-        g2d.drawString("Puntuación Final: " + score, WIDTH/2 - 180, HEIGHT/2 + 10);
+        g2d.setFont(RenderResources.font(Font.BOLD, 40));
+        g2d.drawString(finalScoreLabel.get(score), WIDTH/2 - 180, HEIGHT/2 + 10);
 
-        g2d.setFont(new Font("Arial", Font.PLAIN, 30));
-        g2d.setColor(new Color(200, 255, 200));
+        g2d.setFont(RenderResources.font(Font.PLAIN, 30));
+        g2d.setColor(RenderResources.color(200, 255, 200));
         g2d.drawString("Presiona R para reiniciar", WIDTH/2 - 180, HEIGHT/2 + 80);
-        g2d.setColor(new Color(255, 200, 200));
+        g2d.setColor(RenderResources.color(255, 200, 200));
         g2d.drawString("Presiona ESC para salir", WIDTH/2 - 180, HEIGHT/2 + 130);
 
         if (player != null && blinkTimer < 20) {
             BufferedImage currentFrame = player.getCurrentFrame();
             if (currentFrame != null) {
-                g2d.drawImage(currentFrame, WIDTH/2 - 60, HEIGHT/2 - 180, 120, 120, null);
+                g2d.drawImage(assets.getSprite(currentFrame, 120, 120), WIDTH/2 - 60, HEIGHT/2 - 180, null);
             }
         }
     }
 
     private void drawPauseScreen(Graphics2D g2d) {
-        g2d.setColor(new Color(0, 0, 0, 180));
+        Player player = world.getPlayer();
+
+        g2d.setColor(RenderResources.color(0, 0, 0, 180));
         g2d.fillRect(0, 0, WIDTH, HEIGHT);
 
-        g2d.setColor(new Color(50, 50, 100, 200));
+        g2d.setColor(RenderResources.color(50, 50, 100, 200));
         g2d.fillRoundRect(WIDTH/2 - 300, HEIGHT/2 - 150, 600, 300, 30, 30);
 
         g2d.setColor(Color.CYAN);
-        g2d.setStroke(new BasicStroke(4));
+        g2d.setStroke(RenderResources.stroke(4));
         g2d.drawRoundRect(WIDTH/2 - 300, HEIGHT/2 - 150, 600, 300, 30, 30);
 
-        g2d.setFont(new Font("Arial", Font.BOLD, 80));
+        g2d.setFont(RenderResources.font(Font.BOLD, 80));
 
-        g2d.setColor(new Color(0, 0, 0, 150));
+        g2d.setColor(RenderResources.color(0, 0, 0, 150));
         g2d.drawString("PAUSA", WIDTH/2 - 130, HEIGHT/2 - 50);
 
-        GradientPaint pauseGradient = new GradientPaint(
-                WIDTH/2 - 130, HEIGHT/2 - 100, Color.CYAN,
-                WIDTH/2 + 130, HEIGHT/2, Color.BLUE
-        );
-        g2d.setPaint(pauseGradient);
+        g2d.setPaint(PAUSE_GRADIENT);
         g2d.drawString("PAUSA", WIDTH/2 - 132, HEIGHT/2 - 52);
 
         g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.PLAIN, 30));
+        g2d.setFont(RenderResources.font(Font.PLAIN, 30));
         g2d.drawString("Presiona P para continuar", WIDTH/2 - 180, HEIGHT/2 + 30);
         g2d.drawString("Presiona ESC para salir al menú", WIDTH/2 - 230, HEIGHT/2 + 80);
 
         if (player != null && blinkTimer < 20) {
             BufferedImage currentFrame = player.getCurrentFrame();
             if (currentFrame != null) {
-                g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f));
-                g2d.drawImage(currentFrame, WIDTH/2 - 50, HEIGHT/2 - 140, 100, 100, null);
-                g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
+                g2d.setComposite(RenderResources.HALF_TRANSPARENT);
+                g2d.drawImage(assets.getSprite(currentFrame, 100, 100), WIDTH/2 - 50, HEIGHT/2 - 140, null);
+                g2d.setComposite(RenderResources.OPAQUE);
 
                 g2d.setColor(Color.YELLOW);
-                g2d.setFont(new Font("Arial", Font.BOLD, 40));
+                g2d.setFont(RenderResources.font(Font.BOLD, 40));
                 g2d.drawString("Zzz...", WIDTH/2 - 30, HEIGHT/2 - 160);
             }
         }
     }
 
-    private void drawCenteredString(Graphics2D g, String text, Rectangle rect) {
+    private void applyQualityHints(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    }
+
+    private void drawCenteredString(Graphics2D g, String text, int rx, int ry, int rw, int rh) {
         FontMetrics metrics = g.getFontMetrics();
-        int x = rect.x + (rect.width - metrics.stringWidth(text)) / 2;
-        int y = rect.y + ((rect.height - metrics.getHeight()) / 2) + metrics.getAscent();
+        int x = rx + (rw - metrics.stringWidth(text)) / 2;
+        int y = ry + ((rh - metrics.getHeight()) / 2) + metrics.getAscent();
         g.drawString(text, x, y);
     }
 
     @Override
     public void keyPressed(KeyEvent e) {
-        int keyCode = e.getKeyCode();
-        keys[keyCode] = true;
+        // La entrada del juego va a la cola sin esperar al lock (el render puede tenerlo)
+        queueInput(e, true);
 
-        switch (gameState) {
-            case TITLE_SCREEN -> handleTitleScreenInput(e);
-            case CHARACTER_SELECTION -> handleCharacterSelectionInput(e);
-            case PLAYING -> handleGameInput(e);
-            case GAME_OVER -> handleGameOverInput(e);
-            case PAUSE -> handlePauseInput(e);
+        synchronized (stateLock) {
+            // Depuración: valen en cualquier pantalla
+            if (e.getKeyCode() == KeyEvent.VK_F3) {
+                showDebugOverlay = !showDebugOverlay;
+                repaint();
+                return;
+            }
+            if (e.getKeyCode() == KeyEvent.VK_F4) {
+                exportLatency();
+                return;
+            }
+
+            switch (gameState) {
+                case TITLE_SCREEN -> handleTitleScreenInput(e);
+                case CHARACTER_SELECTION -> handleCharacterSelectionInput(e);
+                case PLAYING -> handleGameInput(e);
+                case GAME_OVER -> handleGameOverInput(e);
+                case PAUSE -> handlePauseInput(e);
+            }
         }
     }
 
     private void handleTitleScreenInput(KeyEvent e) {
         if (e.getKeyCode() == KeyEvent.VK_ENTER) {
             gameState = GameState.CHARACTER_SELECTION;
+            prefetchAroundSelection();
             repaint();
         }
     }
 
     private void handleCharacterSelectionInput(KeyEvent e) {
-        CharacterType[] characters = CharacterType.values();
+        int total = characterRegistry.size();
 
         switch (e.getKeyCode()) {
             case KeyEvent.VK_RIGHT -> {
-                characterSelectIndex = (characterSelectIndex + 1) % characters.length;
-                selectedCharacter = characters[characterSelectIndex];
+                characterSelectIndex = (characterSelectIndex + 1) % total;
+                selectedCharacter = characterRegistry.get(characterSelectIndex);
+                prefetchAroundSelection();
                 repaint();
             }
             case KeyEvent.VK_LEFT -> {
-                characterSelectIndex = (characterSelectIndex - 1 + characters.length) % characters.length;
-                selectedCharacter = characters[characterSelectIndex];
+                characterSelectIndex = (characterSelectIndex - 1 + total) % total;
+                selectedCharacter = characterRegistry.get(characterSelectIndex);
+                prefetchAroundSelection();
+                repaint();
+            }
+            case KeyEvent.VK_UP -> {
+                selectSkin(selectedSkin.next());
+                repaint();
+            }
+            case KeyEvent.VK_DOWN -> {
+                selectSkin(selectedSkin.previous());
                 repaint();
             }
             case KeyEvent.VK_ENTER -> {
@@ -1095,17 +1315,19 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
         }
     }
 
+    private void selectSkin(SkinType skin) {
+        selectedSkin = skin;
+        skinLabel = "SKIN: " + skin.getName();
+    }
+
     private void handleGameInput(KeyEvent e) {
-        if (player == null) return;
+        if (world.getPlayer() == null) return;
 
         switch (e.getKeyCode()) {
-            case KeyEvent.VK_SPACE -> player.jump();
-            case KeyEvent.VK_Z -> shoot();
+            // Movimiento, salto y disparo llegan por inputQueue (ver queueInput)
             case KeyEvent.VK_P -> {
                 gameState = GameState.PAUSE;
                 gameTimer.stop();
-                spawnTimer.stop();
-                waveTimer.stop();
                 titleTimer.start();
                 repaint();
             }
@@ -1117,9 +1339,9 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
         switch (e.getKeyCode()) {
             case KeyEvent.VK_P -> {
                 gameState = GameState.PLAYING;
+                drainMenuInput();
+                timestep.reset();
                 gameTimer.start();
-                spawnTimer.start();
-                waveTimer.start();
                 titleTimer.stop();
                 repaint();
             }
@@ -1131,6 +1353,7 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
         switch (e.getKeyCode()) {
             case KeyEvent.VK_R -> {
                 gameState = GameState.TITLE_SCREEN;
+                prefetchTitleCharacters();
                 titleTimer.start();
                 initializeGame();
                 repaint();
@@ -1141,7 +1364,28 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
 
     @Override
     public void keyReleased(KeyEvent e) {
-        keys[e.getKeyCode()] = false;
+        queueInput(e, false);
+    }
+
+    // Traduce la tecla a una acción y la encola con la hora en que llegó
+    private void queueInput(KeyEvent e, boolean pressed) {
+        int action;
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_LEFT -> action = InputFrame.LEFT;
+            case KeyEvent.VK_RIGHT -> action = InputFrame.RIGHT;
+            case KeyEvent.VK_SPACE -> action = InputFrame.JUMP;
+            case KeyEvent.VK_Z -> action = InputFrame.SHOOT;
+            default -> { return; }
+        }
+        inputQueue.offer(action, pressed, eventNanoTime(e));
+    }
+
+    // Hora del evento en la escala de System.nanoTime (getWhen viene en ms del reloj de pared)
+    private static long eventNanoTime(KeyEvent e) {
+        long now = System.nanoTime();
+        long age = System.currentTimeMillis() - e.getWhen();
+        // Si el reloj de pared saltó, se usa la hora de llegada al handler
+        return age > 0 && age < 1000 ? now - age * 1_000_000 : now;
     }
 
     @Override
@@ -1149,35 +1393,163 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
 
     private void returnToTitle() {
         gameTimer.stop();
-        spawnTimer.stop();
-        waveTimer.stop();
         titleTimer.start();
         gameState = GameState.TITLE_SCREEN;
+        prefetchTitleCharacters();
         repaint();
     }
 
+    // Personajes del desfile del título (tantos como entren en la caché de personajes)
+    private void prefetchTitleCharacters() {
+        int count = Math.min(paradeCharacters.length, assets.getCharacterCacheSize());
+        assets.prefetchCharacters(Arrays.copyOf(paradeCharacters, count));
+    }
+
+    // En la selección se cargan las tarjetas visibles, empezando por la marcada
+    private void prefetchAroundSelection() {
+        int first = getFirstVisibleCard();
+        int last = Math.min(characterRegistry.size(), first + VISIBLE_CARDS) - 1;
+        int count = Math.min(last - first + 1, assets.getCharacterCacheSize());
+
+        CharacterInfo[] visible = new CharacterInfo[count];
+        visible[0] = characterRegistry.get(characterSelectIndex);
+        int n = 1;
+        for (int d = 1; n < count; d++) {
+            if (characterSelectIndex + d <= last && n < count) visible[n++] = characterRegistry.get(characterSelectIndex + d);
+            if (characterSelectIndex - d >= first && n < count) visible[n++] = characterRegistry.get(characterSelectIndex - d);
+        }
+        assets.prefetchCharacters(visible);
+    }
+
     @Override
     public void actionPerformed(ActionEvent e) {
-        if (gameState == GameState.PLAYING) {
-            updateGame();
+        // En modo activo la simulación la avanza el hilo de render
+        if (activeRendering) return;
+
+        synchronized (stateLock) {
+            advanceSimulation();
         }
         repaint();
     }
 
+    // Ejecuta los ticks de paso fijo pendientes y calcula el alpha de interpolación
+    private void advanceSimulation() {
+        if (gameState != GameState.PLAYING) {
+            timestep.reset();
+            return;
+        }
+
+        int steps = timestep.advance(System.nanoTime());
+        for (int i = 0; i < steps; i++) {
+            // Al empezar el tick se aplica todo lo que llegó desde el anterior
+            long start = System.nanoTime();
+            inputQueue.drainTo(input, start);
+            long inputDone = System.nanoTime();
+            world.step(input);
+            perfStats.record(FramePhase.INPUT, inputDone - start);
+            perfStats.record(FramePhase.SIMULATION, System.nanoTime() - inputDone);
+            input.clearPresses();
+
+            if (world.isGameOver()) {
+                gameOver();
+                break;
+            }
+        }
+        renderAlpha = timestep.getAlpha();
+    }
+
+    private void runLocked(Runnable action) {
+        synchronized (stateLock) {
+            action.run();
+        }
+    }
+
+    // Arranca el hilo de render (solo en modo activo y con la ventana ya visible)
+    public void startActiveRendering() {
+        if (!activeRendering || renderLoop != null) return;
+
+        renderLoop = new ActiveRenderLoop(renderCanvas, getTargetFps(), () -> {
+            synchronized (stateLock) {
+                advanceSimulation();
+            }
+        }, g2d -> {
+            // El BufferStrategy no borra el fondo como lo hace paintComponent
+            g2d.setColor(getBackground());
+            g2d.fillRect(0, 0, WIDTH, HEIGHT);
+            synchronized (stateLock) {
+                renderFrame(g2d);
+            }
+        });
+        renderLoop.setOnPresented(() -> latencyProbe.markPresented(System.nanoTime()));
+        renderLoop.start();
+        renderCanvas.requestFocusInWindow();
+    }
+
+    // FPS objetivo: -Dmario.fps o, si no, la frecuencia del monitor
+    private int getTargetFps() {
+        Integer fps = Integer.getInteger("mario.fps");
+        if (fps != null && fps > 0) return fps;
+
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc != null) {
+            int refresh = gc.getDevice().getDisplayMode().getRefreshRate();
+            if (refresh != DisplayMode.REFRESH_RATE_UNKNOWN) return refresh;
+        }
+        return 60;
+    }
+
+    // Latencia desde la tecla hasta el tick que la aplica
+    public InputQueue getInputQueue() {
+        return inputQueue;
+    }
+
+    // Latencia desde la tecla hasta el frame que la muestra
+    public LatencyProbe getLatencyProbe() {
+        return latencyProbe;
+    }
+
+    // Estadísticas de frames del modo activo (null en modo Swing)
+    public FrameStats getFrameStats() {
+        return renderLoop != null ? renderLoop.getFrameStats() : null;
+    }
+
     public static void main(String[] args) {
+        boolean active = Boolean.getBoolean("mario.activeRender")
+                || Arrays.asList(args).contains("--active");
+
         SwingUtilities.invokeLater(() -> {
             JFrame frame = new JFrame("MARIO VS HONGOS - LA BATALLA ÉPICA");
             frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
-            MarioGame game = new MarioGame();
+            MarioGame game = new MarioGame(active);
             frame.add(game);
+            // Solo si se pidió con -Dmario.perfCsv; también al salir con System.exit (ESC en la pantalla final)
+            if (!System.getProperty("mario.perfCsv", "").isEmpty()) {
+                Runtime.getRuntime().addShutdownHook(new Thread(game::exportPerformance, "perf-export"));
+            }
+
+            frame.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosing(WindowEvent e) {
+                    FrameStats stats = game.getFrameStats();
+                    if (stats != null) {
+                        System.out.println("Frames: " + stats);
+                    }
+                    System.out.println("Entrada: " + game.getInputQueue());
+                    System.out.println("Tecla->pantalla: " + game.getLatencyProbe().getHistogram());
+                }
+            });
 
             frame.pack();
             frame.setLocationRelativeTo(null);
             frame.setResizable(false);
             frame.setVisible(true);
 
-            game.requestFocusInWindow();
+            if (active) {
+                game.startActiveRendering();
+            } else {
+                game.requestFocusInWindow();
+            }
         });
     }
 
@@ -1216,9 +1588,9 @@ public class MarioGame extends JPanel implements ActionListener, KeyListener {
             if (assets.cloud != null) {
                 int cloudWidth = 150 + (int)(Math.sin(x * 0.01) * 20);
                 int cloudHeight = 120;
-                g2d.drawImage(assets.cloud, x, y, cloudWidth, cloudHeight, null);
+                g2d.drawImage(assets.getSprite(assets.cloud, cloudWidth, cloudHeight), x, y, null);
             } else {
-                g2d.setColor(new Color(255, 255, 255, 220));
+                g2d.setColor(RenderResources.color(255, 255, 255, 220));
                 g2d.fillOval(x, y, 100, 60);
                 g2d.fillOval(x + 40, y - 20, 120, 70);
                 g2d.fillOval(x + 80, y + 10, 90, 50);